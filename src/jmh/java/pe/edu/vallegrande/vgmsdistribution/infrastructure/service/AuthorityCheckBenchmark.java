@@ -0,0 +1,89 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former stream-of-strings role check with the interned bitset check
+ * for authority sets of the sizes our tokens carry: a few realm roles plus
+ * client roles and scopes. The required role is either the last authority
+ * granted (worst case for the stream) or not granted at all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorityCheckBenchmark {
+
+    private static final String REQUIRED = "ADMIN";
+
+    @Param({"4", "16", "64"})
+    private int authorities;
+
+    @Param({"true", "false"})
+    private boolean granted;
+
+    private Authentication authentication;
+    private AuthoritySet held;
+    private AuthoritySet required;
+    private PermissionValidationService permissionValidationService;
+
+    @Setup
+    public void setUp() {
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
+        for (int i = 0; i < authorities - 1; i++) {
+            grantedAuthorities.add(new SimpleGrantedAuthority(i % 4 == 0 ? "ROLE_ROLE_" + i : "SCOPE_permission:" + i));
+        }
+        grantedAuthorities.add(new SimpleGrantedAuthority(granted ? "ROLE_" + REQUIRED : "ROLE_OPERATOR"));
+        authentication = new UsernamePasswordAuthenticationToken("user", null, grantedAuthorities);
+        held = AuthoritySet.of(grantedAuthorities);
+        required = AuthoritySet.ofNames(List.of(REQUIRED, "ROLE_" + REQUIRED));
+        permissionValidationService = new PermissionValidationService();
+    }
+
+    /**
+     * The check validateRole made before authorities were interned
+     */
+    @Benchmark
+    public boolean stringStream() {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(authority -> authority.equals("ROLE_" + REQUIRED) || authority.equals(REQUIRED));
+    }
+
+    /**
+     * The bitwise test alone, with both sets already interned
+     */
+    @Benchmark
+    public boolean bitset() {
+        return held.containsAny(required);
+    }
+
+    /**
+     * The full request-path check for an authentication that was not interned
+     * at conversion time: requirement cache lookup plus interning of the held set
+     */
+    @Benchmark
+    public boolean hasAnyUninterned() {
+        return permissionValidationService.hasAny(authentication, REQUIRED);
+    }
+}
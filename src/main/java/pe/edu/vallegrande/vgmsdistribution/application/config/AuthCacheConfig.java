@@ -0,0 +1,19 @@
+package pe.edu.vallegrande.vgmsdistribution.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the cache of authentications built from bearer tokens
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.auth-cache")
+@Data
+public class AuthCacheConfig {
+
+    private boolean enabled = true;
+    private long maxEntries = 10_000;
+    /** Lifetime of entries whose token carries no exp claim */
+    private long defaultTtlSeconds = 300;
+}
@@ -0,0 +1,159 @@
+package pe.edu.vallegrande.vgmsdistribution.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.ZoneId;
+
+/**
+ * Configuration properties for the distribution domain
+ */
+@Configuration
+@ConfigurationProperties(prefix = "distribution")
+@Data
+public class DistributionConfig {
+
+    private String timeZone = "America/Lima";
+    private PublicApi publicApi = new PublicApi();
+    private Bookings bookings = new Bookings();
+    private MyPrograms myPrograms = new MyPrograms();
+    private Batch batch = new Batch();
+    private AutoClose autoClose = new AutoClose();
+    private DayPlan dayPlan = new DayPlan();
+    private ReadModel readModel = new ReadModel();
+    private Integrity integrity = new Integrity();
+    private Cascade cascade = new Cascade();
+    private Archive archive = new Archive();
+    private DelayAnalytics delayAnalytics = new DelayAnalytics();
+    private DurationEstimates durationEstimates = new DurationEstimates();
+    private Telemetry telemetry = new Telemetry();
+
+    public ZoneId zoneId() {
+        return ZoneId.of(timeZone);
+    }
+
+    @Data
+    public static class PublicApi {
+        private int maxAgeSeconds = 300;
+        private int staleWhileRevalidateSeconds = 60;
+        private int nextWindowLookaheadDays = 14;
+        /** Snapshots are rebuilt after this long even without writes, and at most snapshotMaxEntries are kept */
+        private int snapshotTtlSeconds = 3600;
+        private int snapshotMaxEntries = 500;
+        /** Organizations without schedules are kept apart so random ids cannot evict real snapshots */
+        private int unknownTtlSeconds = 300;
+        private int unknownMaxEntries = 1_000;
+    }
+
+    @Data
+    public static class Bookings {
+        /** Days before today still loaded into the responsible-user booking index */
+        private int lookbackDays = 7;
+        /** When windows that ended before the lookback horizon are dropped from the index */
+        private String pruneCron = "0 30 3 * * *";
+        /** When loaded organizations are reloaded from Mongo to pick up writes made by other instances */
+        private String refreshCron = "0 */5 * * * *";
+    }
+
+    @Data
+    public static class MyPrograms {
+        private int cacheTtlSeconds = 60;
+        private int cacheMaxEntries = 10_000;
+    }
+
+    @Data
+    public static class Batch {
+        private int maxPrograms = 500;
+    }
+
+    @Data
+    public static class AutoClose {
+        private boolean enabled = true;
+        /** COMPLETE closes overdue programs, FLAG only marks them as overdue */
+        private String mode = "FLAG";
+        private int graceMinutes = 30;
+        /** Fills plannedEndAt on programs written before it existed, once at startup */
+        private boolean backfillPlannedEnd = true;
+        private int backfillBatchSize = 500;
+    }
+
+    @Data
+    public static class DayPlan {
+        private long partTimeoutMs = 2000;
+    }
+
+    @Data
+    public static class ReadModel {
+        private int batchSize = 100;
+        private long flushIntervalMs = 500;
+        private int userLookupConcurrency = 4;
+        /** Pending changes kept in memory; further changes are dropped and logged */
+        private int queueCapacity = 10000;
+    }
+
+    @Data
+    public static class Integrity {
+        private boolean enabled = true;
+        /** Detach orphaned references on scheduled runs instead of only reporting them */
+        private boolean repair = false;
+        private int repairBatchSize = 500;
+        private int sampleSize = 100;
+    }
+
+    @Data
+    public static class Cascade {
+        /** CANCEL closes open dependent programs before detaching them; DETACH only drops the reference */
+        private String action = "CANCEL";
+        private int batchSize = 200;
+        private int leaseSeconds = 60;
+        private int maxAttempts = 5;
+    }
+
+    @Data
+    public static class Archive {
+        /** Off by default: archiving moves documents, so it is turned on per deployment */
+        private boolean enabled = false;
+        /** Programs dated more than this many months ago move to programs_archive */
+        private int retentionMonths = 6;
+        private int batchSize = 500;
+    }
+
+    @Data
+    public static class DelayAnalytics {
+        /** Weight of the newest completion in the moving average */
+        private double alpha = 0.2;
+        private int minSamples = 10;
+        private double startDelayThresholdMinutes = 15;
+        private double overrunThresholdMinutes = 20;
+        /** An anomaly clears once the average drops below this fraction of its threshold */
+        private double clearRatio = 0.8;
+        private int recentAnomalies = 200;
+    }
+
+    @Data
+    public static class DurationEstimates {
+        /** Days of completed programs replayed at startup; 0 starts from an empty model */
+        private int warmUpDays = 90;
+        /** Samples a route needs before its learned duration is shown */
+        private int minSamples = 5;
+    }
+
+    @Data
+    public static class Telemetry {
+        private int batchSize = 500;
+        private long batchTimeoutMs = 200;
+        /** Batches the writer queue holds before requests stop reading their bodies */
+        private int bufferBatches = 64;
+        private int writerConcurrency = 4;
+        private long enqueueTimeoutMs = 2000;
+        /** Suggested wait before resending the lines a full queue did not take */
+        private int overflowRetryAfterSeconds = 5;
+        private int maxReportedErrors = 20;
+        /** Insert retries before a batch goes to telemetry_dead_letters */
+        private int writeRetries = 3;
+        private long writeRetryBackoffMs = 200;
+        /** Time shutdown waits for the queue to drain, and then for the final rollup flush */
+        private long shutdownTimeoutMs = 10000;
+    }
+}
@@ -0,0 +1,26 @@
+package pe.edu.vallegrande.vgmsdistribution.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the in-memory JWKS cache behind the JWT decoder
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.jwks")
+@Data
+public class JwtKeysConfig {
+
+    /** Background check for rotated signing keys */
+    private long refreshIntervalMs = 600_000;
+    /** Minimum time between refreshes triggered by tokens with an unknown kid */
+    private long minRefreshIntervalMs = 30_000;
+    private long fetchTimeoutMs = 5_000;
+    /** First remote fetch after startup; keep it above zero when a snapshot is available */
+    private long initialRefreshDelayMs = 0;
+    /** JWKS snapshot loaded at startup, e.g. classpath:jwks.json or file:/var/lib/app/jwks.json */
+    private String bootstrapLocation;
+    /** Writes every fetched key set back to a file: bootstrap location for the next start */
+    private boolean saveSnapshot = false;
+}
@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for MS-Users microservice integration
  */
@@ -16,6 +19,12 @@ public class MsUsersConfig {
     private Endpoints endpoints = new Endpoints();
     private Auth auth = new Auth();
     private Timeout timeout = new Timeout();
+    private Pool pool = new Pool();
+    private Cache cache = new Cache();
+    private Loader loader = new Loader();
+    private Resilience resilience = new Resilience();
+    private Hedging hedging = new Hedging();
+    private Balancer balancer = new Balancer();
 
     @Data
     public static class Endpoints {
@@ -30,7 +39,8 @@ public class MsUsersConfig {
 
     @Data
     public static class Auth {
-        private boolean enabled = false;
+        /** Service credential for calls made outside a request; required by the lookup caches */
+        private boolean enabled = true;
         private String type = "Bearer";
         private String token = "";
     }
@@ -41,4 +51,92 @@ public class MsUsersConfig {
         private int read = 10000;
         private int write = 10000;
     }
-}
\ No newline at end of file
+
+    /**
+     * Connection pool of each downstream client (ms-users, organization)
+     */
+    @Data
+    public static class Pool {
+        private int maxConnections = 50;
+        private int pendingAcquireMaxCount = 500;
+        private int pendingAcquireTimeout = 2000;
+        private int maxIdleTime = 30000;
+        private int maxLifeTime = 300000;
+        private int evictInBackground = 30000;
+    }
+
+    /**
+     * Lookup cache of users, organizations and admins: entries are refreshed in the
+     * background after ttl, served stale up to maxStale, and misses kept for negativeTtl
+     */
+    @Data
+    public static class Cache {
+        private long ttlSeconds = 300;
+        private long maxStaleSeconds = 3600;
+        private long negativeTtlSeconds = 60;
+        private long maxEntries = 10000;
+    }
+
+    /**
+     * User loader: each page of rows is resolved with at most concurrency lookups
+     * in flight, and each lookup gives up after lookupTimeoutMs
+     */
+    @Data
+    public static class Loader {
+        private int pageSize = 200;
+        private int concurrency = 8;
+        private long lookupTimeoutMs = 2000;
+    }
+
+    /**
+     * Circuit breaker per endpoint, shared concurrency bulkhead and a retry budget
+     * that allows retries for at most retryBudgetRatio of the calls
+     */
+    @Data
+    public static class Resilience {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private long slowCallDurationMs = 3000;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private long waitInOpenStateSeconds = 30;
+        private int permittedCallsInHalfOpenState = 3;
+        private int maxConcurrentCalls = 25;
+        private int maxRetries = 2;
+        /** createAdmin is only retried once MS-USERS is known to honour its Idempotency-Key */
+        private boolean retryCreateAdmin = false;
+        private long retryBackoffMs = 200;
+        private double retryBudgetRatio = 0.1;
+        private double retryBudgetMinPerSecond = 1;
+        private double retryBudgetMaxTokens = 20;
+    }
+
+    /**
+     * Hedged reads of users and organizations: a backup request is sent when the first
+     * has not answered within the given latency percentile, capped by a token budget
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        private long initialDelayMs = 300;
+        private long minDelayMs = 20;
+        private int minSamples = 50;
+        private int window = 1000;
+        private double budgetRatio = 0.05;
+        private double budgetMaxTokens = 10;
+    }
+
+    /**
+     * Client-side balancing across ms-users instances (base URLs, from the list and/or
+     * a file re-read every refreshIntervalMs); empty means every call goes to baseUrl
+     */
+    @Data
+    public static class Balancer {
+        private List<String> instances = new ArrayList<>();
+        private String instancesFile = "";
+        private long refreshIntervalMs = 30000;
+        private int ejectAfterFailures = 3;
+        private long ejectionSeconds = 30;
+    }
+}
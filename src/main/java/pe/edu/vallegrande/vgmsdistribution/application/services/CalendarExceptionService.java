@@ -0,0 +1,25 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services;
+
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CalendarException;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.CalendarExceptionCreateRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.CalendarDayStatusResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+public interface CalendarExceptionService {
+
+    Flux<CalendarException> getAllByOrganization(String organizationId);
+
+    Mono<CalendarException> getById(String id);
+
+    Mono<CalendarException> save(CalendarExceptionCreateRequest request);
+
+    Mono<CalendarException> update(String id, CalendarExceptionCreateRequest request);
+
+    Mono<Void> delete(String id);
+
+    // O(1) lookup against the compiled calendar of the organization
+    Mono<CalendarDayStatusResponse> getDayStatus(String organizationId, String zoneId, LocalDate date);
+}
@@ -0,0 +1,17 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services;
+
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CascadeTask;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CascadeTaskService {
+
+    /**
+     * Records the cleanup owed to the programs of a deleted route or schedule
+     */
+    Mono<CascadeTask> enqueue(String sourceType, String sourceId, String organizationId);
+
+    Mono<CascadeTask> getById(String id);
+
+    Flux<CascadeTask> getAll(String status, String sourceId);
+}
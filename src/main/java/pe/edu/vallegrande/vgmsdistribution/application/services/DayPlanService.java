@@ -0,0 +1,11 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services;
+
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DayPlanResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+public interface DayPlanService {
+
+    Mono<DayPlanResponse> getDayPlan(String organizationId, LocalDate date);
+}
@@ -0,0 +1,18 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services;
+
+import pe.edu.vallegrande.vgmsdistribution.domain.events.DelayAnomalyEvent;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DelayStatsResponse;
+import reactor.core.publisher.Flux;
+
+public interface DelayAnalyticsService {
+
+    /**
+     * Current delay estimates of every route and zone of the organization
+     */
+    Flux<DelayStatsResponse> getStats(String organizationId);
+
+    /**
+     * Most recent anomalies raised for the organization, newest first
+     */
+    Flux<DelayAnomalyEvent> getRecentAnomalies(String organizationId);
+}
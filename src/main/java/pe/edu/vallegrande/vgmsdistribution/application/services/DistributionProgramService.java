@@ -1,11 +1,18 @@
 package pe.edu.vallegrande.vgmsdistribution.application.services;
 
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.BatchTransitionRequest;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.DistributionProgramCreateRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.ProgramTransitionRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.BatchTransitionResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DistributionProgramResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.EnrichedDistributionProgramResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ProgramConflictResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface DistributionProgramService {
     
     Flux<DistributionProgramResponse> getAll();
@@ -29,4 +36,28 @@ public interface DistributionProgramService {
     
     // New method for saving and returning enriched response
     Mono<EnrichedDistributionProgramResponse> saveAndEnrich(DistributionProgramCreateRequest request);
+
+    // Overlapping programs of the same responsible user during a week
+    Mono<List<ProgramConflictResponse>> getConflicts(String organizationId, LocalDate weekStart);
+
+    // Programs moved to the archive collection by ProgramArchiveJob
+    Flux<DistributionProgramResponse> getArchived(String organizationId, LocalDate from, LocalDate to);
+
+    Mono<DistributionProgramResponse> getArchivedById(String id);
+
+    // Programs assigned to a responsible user on a date
+    Mono<List<DistributionProgramResponse>> getMine(String userId, LocalDate date);
+
+    // Guarded status transitions: PLANNED -> IN_PROGRESS -> COMPLETED, or CANCELLED
+    Mono<DistributionProgramResponse> start(String id, ProgramTransitionRequest request);
+
+    Mono<DistributionProgramResponse> complete(String id, ProgramTransitionRequest request);
+
+    Mono<DistributionProgramResponse> cancel(String id, ProgramTransitionRequest request);
+
+    // Same guarded transition applied to many programs, with one outcome per program
+    Mono<BatchTransitionResponse> transitionBatch(BatchTransitionRequest request);
+
+    // Re-reads the user's name from MS-USERS and updates the programs that display it
+    void refreshResponsibleUser(String userId);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package pe.edu.vallegrande.vgmsdistribution.application.services;
 import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.DistributionRouteCreateRequest;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DistributionRouteResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DurationEstimateResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.EnrichedDistributionRouteResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -35,4 +36,7 @@ public interface DistributionRouteService {
     Flux<EnrichedDistributionRouteResponse> getAllActiveEnriched();
     
     Flux<EnrichedDistributionRouteResponse> getAllInactiveEnriched();
-}
\ No newline at end of file
+
+    // Durations learned from completed programs, per route and per zone
+    Flux<DurationEstimateResponse> getDurationEstimates(String organizationId);
+}
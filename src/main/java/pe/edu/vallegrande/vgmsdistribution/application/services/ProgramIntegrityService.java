@@ -0,0 +1,13 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services;
+
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.IntegrityReportResponse;
+import reactor.core.publisher.Mono;
+
+public interface ProgramIntegrityService {
+
+    /**
+     * Finds programs whose scheduleId or routeId points to a missing document and,
+     * when {@code repair} is set, detaches those references
+     */
+    Mono<IntegrityReportResponse> check(boolean repair);
+}
@@ -0,0 +1,31 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.NextWindowResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.PublicScheduleResponse;
+import reactor.core.publisher.Mono;
+
+public interface PublicScheduleService {
+
+    Mono<View<PublicScheduleResponse>> getSchedule(String organizationId, String zoneId, String streetId);
+
+    Mono<View<NextWindowResponse>> getNextWindow(String organizationId, String zoneId, String streetId);
+
+    // iCalendar (RFC 5545) feed with one weekly recurring event per schedule
+    Mono<View<String>> getCalendar(String organizationId, String zoneId, String streetId);
+
+    // Called on schedule and exception calendar writes of the organization
+    void invalidate(String organizationId);
+
+    /**
+     * Precomputed payload together with its strong entity tag and freshness lifetime
+     */
+    @Getter
+    @AllArgsConstructor
+    class View<T> {
+        private final T body;
+        private final String etag;
+        private final long maxAgeSeconds;
+    }
+}
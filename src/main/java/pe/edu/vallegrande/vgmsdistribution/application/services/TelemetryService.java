@@ -0,0 +1,20 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services;
+
+import pe.edu.vallegrande.vgmsdistribution.domain.models.TelemetryRollup;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.TelemetryReadingRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.TelemetryIngestResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface TelemetryService {
+
+    /**
+     * Validates the readings and hands them to the background writer, waiting
+     * while its bounded buffer is full
+     */
+    Mono<TelemetryIngestResponse> ingest(Flux<TelemetryReadingRequest> readings);
+
+    Flux<TelemetryRollup> getRollups(String deviceId, String granularity, Instant from, Instant to);
+}
@@ -0,0 +1,12 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services;
+
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ZoneCoverageResponse;
+import reactor.core.publisher.Mono;
+
+public interface ZoneCoverageService {
+
+    Mono<ZoneCoverageResponse> getCoverage(String organizationId);
+
+    // Called on every schedule write of the organization
+    void invalidate(String organizationId);
+}
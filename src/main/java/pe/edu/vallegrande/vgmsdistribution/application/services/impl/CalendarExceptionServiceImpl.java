@@ -0,0 +1,141 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.services.CalendarExceptionService;
+import pe.edu.vallegrande.vgmsdistribution.application.services.PublicScheduleService;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.CalendarExceptionType;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CalendarException;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.CalendarExceptionCreateRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.CalendarDayStatusResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.CalendarExceptionRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarExceptionServiceImpl implements CalendarExceptionService {
+
+    private final CalendarExceptionRepository repository;
+    private final ExceptionCalendarIndex calendarIndex;
+    private final PublicScheduleService publicScheduleService;
+
+    @Override
+    public Flux<CalendarException> getAllByOrganization(String organizationId) {
+        return repository.findAllByOrganizationId(organizationId);
+    }
+
+    @Override
+    public Mono<CalendarException> getById(String id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(CustomException.notFound("Calendar exception", id)));
+    }
+
+    @Override
+    public Mono<CalendarException> save(CalendarExceptionCreateRequest request) {
+        return validate(request)
+                .then(Mono.defer(() -> {
+                    CalendarException exception = CalendarException.builder()
+                            .organizationId(request.getOrganizationId())
+                            .zoneId(request.getZoneId())
+                            .exceptionDate(request.getExceptionDate())
+                            .exceptionType(request.getExceptionType())
+                            .shiftedStartTime(request.getShiftedStartTime())
+                            .shiftedEndTime(request.getShiftedEndTime())
+                            .reason(request.getReason())
+                            .status(Constants.ACTIVE.name())
+                            .createdAt(Instant.now())
+                            .build();
+                    return repository.save(exception);
+                }))
+                .doOnNext(saved -> onCalendarChanged(saved.getOrganizationId()));
+    }
+
+    @Override
+    public Mono<CalendarException> update(String id, CalendarExceptionCreateRequest request) {
+        return validate(request)
+                .then(repository.findById(id))
+                .switchIfEmpty(Mono.error(CustomException.notFound("Calendar exception", id)))
+                .flatMap(existing -> {
+                    String previousOrganizationId = existing.getOrganizationId();
+                    existing.setOrganizationId(request.getOrganizationId());
+                    existing.setZoneId(request.getZoneId());
+                    existing.setExceptionDate(request.getExceptionDate());
+                    existing.setExceptionType(request.getExceptionType());
+                    existing.setShiftedStartTime(request.getShiftedStartTime());
+                    existing.setShiftedEndTime(request.getShiftedEndTime());
+                    existing.setReason(request.getReason());
+                    return repository.save(existing)
+                            .doOnNext(saved -> {
+                                onCalendarChanged(previousOrganizationId);
+                                onCalendarChanged(saved.getOrganizationId());
+                            });
+                });
+    }
+
+    @Override
+    public Mono<Void> delete(String id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(CustomException.notFound("Calendar exception", id)))
+                .flatMap(existing -> repository.delete(existing)
+                        .then(Mono.fromRunnable(() -> onCalendarChanged(existing.getOrganizationId()))));
+    }
+
+    @Override
+    public Mono<CalendarDayStatusResponse> getDayStatus(String organizationId, String zoneId, LocalDate date) {
+        return calendarIndex.forOrganization(organizationId)
+                .map(calendar -> {
+                    Optional<CalendarException> shift = calendar.shiftFor(zoneId, date);
+                    return CalendarDayStatusResponse.builder()
+                            .organizationId(organizationId)
+                            .zoneId(zoneId)
+                            .date(date)
+                            .suspended(calendar.isSuspended(zoneId, date))
+                            .shifted(shift.isPresent())
+                            .shiftedStartTime(shift.map(CalendarException::getShiftedStartTime).orElse(null))
+                            .shiftedEndTime(shift.map(CalendarException::getShiftedEndTime).orElse(null))
+                            .reason(shift.map(CalendarException::getReason).orElse(null))
+                            .build();
+                });
+    }
+
+    private void onCalendarChanged(String organizationId) {
+        calendarIndex.recompile(organizationId);
+        publicScheduleService.invalidate(organizationId);
+    }
+
+    private Mono<Void> validate(CalendarExceptionCreateRequest request) {
+        if (request.getOrganizationId() == null || request.getExceptionDate() == null) {
+            return Mono.error(new CustomException(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Invalid calendar exception",
+                    "organizationId and exceptionDate are required"));
+        }
+        boolean knownType = request.getExceptionType() != null
+                && (CalendarExceptionType.SUSPENDED.name().equals(request.getExceptionType())
+                    || CalendarExceptionType.SHIFTED.name().equals(request.getExceptionType()));
+        if (!knownType) {
+            return Mono.error(new CustomException(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Invalid calendar exception",
+                    "exceptionType must be SUSPENDED or SHIFTED"));
+        }
+        if (CalendarExceptionType.SHIFTED.name().equals(request.getExceptionType())
+                && (request.getShiftedStartTime() == null || request.getShiftedEndTime() == null)) {
+            return Mono.error(new CustomException(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Invalid calendar exception",
+                    "SHIFTED exceptions require shiftedStartTime and shiftedEndTime"));
+        }
+        return Mono.empty();
+    }
+}
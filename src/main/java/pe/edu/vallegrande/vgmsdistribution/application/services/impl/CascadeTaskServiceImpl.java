@@ -0,0 +1,254 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.services.CascadeTaskService;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.CascadeTaskStatus;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.ProgramStatus;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CascadeTask;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.CascadeTaskRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cascades route and schedule deletions to their programs in the background.
+ * Deletes insert a task before removing the source; a polling worker claims
+ * tasks with a lease and walks the dependent programs in fixed-size batches,
+ * recording progress after each batch so a restarted worker resumes where the
+ * previous one stopped. A task whose source still exists waits for the delete,
+ * and fails once its attempts run out, e.g. when the delete itself failed.
+ * Every write to a claimed task is conditioned on its lease, so a worker that
+ * lost the lease to another one stops instead of overwriting its progress.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CascadeTaskServiceImpl implements CascadeTaskService {
+
+    public static final String ROUTE = "ROUTE";
+    public static final String SCHEDULE = "SCHEDULE";
+    private static final String CANCEL = "CANCEL";
+    private static final DateTimeFormatter CLOCK = DateTimeFormatter.ofPattern("HH:mm");
+    private static final List<String> TERMINAL = List.of(ProgramStatus.COMPLETED.name(), ProgramStatus.CANCELLED.name());
+
+    private final CascadeTaskRepository repository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ResponsibleUserBookingIndex bookingIndex;
+    private final OperatorProgramCache operatorCache;
+    private final DistributionConfig config;
+
+    private final String workerId = UUID.randomUUID().toString();
+    private final AtomicBoolean working = new AtomicBoolean();
+
+    @Override
+    public Mono<CascadeTask> enqueue(String sourceType, String sourceId, String organizationId) {
+        CascadeTask task = CascadeTask.builder()
+                .organizationId(organizationId)
+                .sourceType(sourceType)
+                .sourceId(sourceId)
+                .action(config.getCascade().getAction())
+                .status(CascadeTaskStatus.PENDING.name())
+                .createdAt(Instant.now())
+                .build();
+        return repository.save(task)
+                .doOnNext(saved -> log.info("Queued cascade task {} for {} {}", saved.getId(), sourceType, sourceId));
+    }
+
+    @Override
+    public Mono<CascadeTask> getById(String id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(CustomException.notFound("Cascade task", id)));
+    }
+
+    @Override
+    public Flux<CascadeTask> getAll(String status, String sourceId) {
+        if (sourceId != null) {
+            return repository.findAllBySourceIdOrderByCreatedAtDesc(sourceId);
+        }
+        if (status != null) {
+            return repository.findAllByStatusOrderByCreatedAtDesc(status);
+        }
+        return repository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    @Scheduled(fixedDelayString = "${distribution.cascade.poll-interval-ms:5000}")
+    public void processPendingTasks() {
+        if (!working.compareAndSet(false, true)) {
+            return;
+        }
+        // Keep claiming until no task is left
+        claim()
+                .flatMap(this::run)
+                .expand(done -> claim().flatMap(this::run))
+                .then()
+                .doFinally(signal -> working.set(false))
+                .subscribe(
+                        unused -> { },
+                        error -> log.error("Error processing cascade tasks: {}", error.getMessage()));
+    }
+
+    /**
+     * Takes the oldest pending task, or a running one whose worker lost its lease
+     */
+    private Mono<CascadeTask> claim() {
+        Instant now = Instant.now();
+        Query query = Query.query(new Criteria().orOperator(
+                        Criteria.where("status").is(CascadeTaskStatus.PENDING.name()),
+                        Criteria.where("status").is(CascadeTaskStatus.RUNNING.name()).and("lockedUntil").lt(now)))
+                .with(Sort.by("createdAt"));
+        Update update = new Update()
+                .set("status", CascadeTaskStatus.RUNNING.name())
+                .set("lockOwner", workerId)
+                .set("lockedUntil", leaseFrom(now))
+                .set("startedAt", now)
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), CascadeTask.class);
+    }
+
+    private Mono<CascadeTask> run(CascadeTask task) {
+        Class<?> source = ROUTE.equals(task.getSourceType()) ? DistributionRoute.class : DistributionSchedule.class;
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(task.getSourceId())), source)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return cascade(task);
+                    }
+                    if (task.getAttempts() >= config.getCascade().getMaxAttempts()) {
+                        return finish(task, CascadeTaskStatus.FAILED, "Source was not deleted");
+                    }
+                    // The delete is still in flight: the lease keeps the task until the next attempt
+                    return Mono.just(task);
+                });
+    }
+
+    private Mono<CascadeTask> cascade(CascadeTask task) {
+        return processBatch(task)
+                .expand(processedInBatch -> processedInBatch > 0 ? processBatch(task) : Mono.empty())
+                .then(finish(task, CascadeTaskStatus.COMPLETED, null))
+                .onErrorResume(LeaseLostException.class, error -> {
+                    log.warn("Cascade task {} was taken over by another worker; stopping here", task.getId());
+                    return Mono.just(task);
+                })
+                .onErrorResume(error -> {
+                    log.error("Cascade task {} failed: {}", task.getId(), error.getMessage());
+                    if (task.getAttempts() >= config.getCascade().getMaxAttempts()) {
+                        return finish(task, CascadeTaskStatus.FAILED, error.getMessage());
+                    }
+                    // Leave the lease in place so the retry waits for it to expire
+                    return mongoTemplate.findAndModify(owned(task), Update.update("lastError", error.getMessage()), CascadeTask.class);
+                });
+    }
+
+    /**
+     * Handles one batch of dependent programs that are not yet completed or cancelled:
+     * open ones are cancelled with an end time when the action is CANCEL, and the rest
+     * lose the reference and its copied name. Either way they leave the selection, so
+     * the next batch moves on while completed and cancelled history keeps its reference
+     */
+    private Mono<Integer> processBatch(CascadeTask task) {
+        String field = ROUTE.equals(task.getSourceType()) ? "routeId" : "scheduleId";
+        String nameField = ROUTE.equals(task.getSourceType()) ? "routeName" : "scheduleName";
+        Query select = Query.query(Criteria.where(field).is(task.getSourceId())
+                        .and("status").nin(TERMINAL))
+                .limit(config.getCascade().getBatchSize());
+        select.fields().include("_id").include("organizationId");
+
+        return mongoTemplate.find(select, Document.class, mongoTemplate.getCollectionName(DistributionProgram.class))
+                .collectList()
+                .flatMap(batch -> {
+                    if (batch.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    List<Object> ids = batch.stream().map(document -> document.get("_id")).toList();
+                    Mono<Long> cancelled = CANCEL.equals(task.getAction())
+                            ? mongoTemplate.updateMulti(
+                                    Query.query(Criteria.where("_id").in(ids)
+                                            .and("status").in(ProgramStatus.CANCELLED.allowedSources())),
+                                    new Update()
+                                            .set("status", ProgramStatus.CANCELLED.name())
+                                            .set("actualEndTime", LocalTime.now(config.zoneId()).format(CLOCK)),
+                                    DistributionProgram.class)
+                                    .map(result -> result.getModifiedCount())
+                            : Mono.just(0L);
+                    return cancelled
+                            .flatMap(cancelledCount -> mongoTemplate.updateMulti(
+                                            Query.query(Criteria.where("_id").in(ids).and("status").nin(TERMINAL)),
+                                            new Update().unset(field).unset(nameField),
+                                            DistributionProgram.class)
+                                    .then(recordProgress(task, ids.size(), cancelledCount)))
+                            .then(Flux.fromIterable(batch)
+                                    .concatMap(document -> bookingIndex.release(
+                                            document.getString("organizationId"), document.get("_id").toString()))
+                                    .then())
+                            .doOnSuccess(done -> operatorCache.evictAll())
+                            .thenReturn(batch.size());
+                });
+    }
+
+    private Mono<CascadeTask> recordProgress(CascadeTask task, int processed, long cancelled) {
+        Update update = new Update()
+                .inc("processed", processed)
+                .inc("cancelled", cancelled)
+                .inc("batches", 1)
+                .set("lockedUntil", leaseFrom(Instant.now()));
+        return mongoTemplate.findAndModify(owned(task), update,
+                        FindAndModifyOptions.options().returnNew(true), CascadeTask.class)
+                .switchIfEmpty(Mono.error(new LeaseLostException()));
+    }
+
+    private Mono<CascadeTask> finish(CascadeTask task, CascadeTaskStatus status, String error) {
+        Update update = new Update()
+                .set("status", status.name())
+                .set("lastError", error)
+                .unset("lockOwner")
+                .unset("lockedUntil");
+        if (status == CascadeTaskStatus.COMPLETED) {
+            update.set("completedAt", Instant.now());
+        }
+        return mongoTemplate.findAndModify(owned(task), update,
+                        FindAndModifyOptions.options().returnNew(true), CascadeTask.class)
+                .doOnNext(done -> log.info("Cascade task {} {} after {} programs in {} batches",
+                        done.getId(), status.name().toLowerCase(), done.getProcessed(), done.getBatches()));
+    }
+
+    private Instant leaseFrom(Instant now) {
+        return now.plus(Duration.ofSeconds(config.getCascade().getLeaseSeconds()));
+    }
+
+    /**
+     * Matches the task only while this worker still holds its lease
+     */
+    private Query owned(CascadeTask task) {
+        return Query.query(Criteria.where("_id").is(task.getId()).and("lockOwner").is(workerId));
+    }
+
+    /**
+     * Another worker claimed the task after this one's lease expired
+     */
+    private static final class LeaseLostException extends RuntimeException {
+        private LeaseLostException() {
+            super("Cascade task lease lost", null, false, false);
+        }
+    }
+}
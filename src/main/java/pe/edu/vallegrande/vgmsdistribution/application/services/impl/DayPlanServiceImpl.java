@@ -0,0 +1,164 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.services.DayPlanService;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.Fare;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.HourOfWeekMask;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DayPlanResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionProgramRepository;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionRouteRepository;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionScheduleRepository;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.FareRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles the day plan from four indexed queries run in parallel and joined
+ * in memory. Each part has its own timeout so a slow part degrades to an empty
+ * section instead of delaying the whole response.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DayPlanServiceImpl implements DayPlanService {
+
+    private final DistributionProgramRepository programRepository;
+    private final DistributionScheduleRepository scheduleRepository;
+    private final DistributionRouteRepository routeRepository;
+    private final FareRepository fareRepository;
+    private final DistributionConfig config;
+
+    @Override
+    public Mono<DayPlanResponse> getDayPlan(String organizationId, LocalDate date) {
+        Duration timeout = Duration.ofMillis(config.getDayPlan().getPartTimeoutMs());
+        Queue<String> unavailable = new ConcurrentLinkedQueue<>();
+
+        Mono<List<DistributionProgram>> programs = part("programs", timeout, unavailable, List.of(),
+                programRepository.findAllByOrganizationIdAndProgramDate(organizationId, date).collectList());
+        Mono<List<DistributionSchedule>> schedules = part("schedules", timeout, unavailable, List.of(),
+                scheduleRepository.findAllByOrganizationIdAndStatus(organizationId, Constants.ACTIVE.name()).collectList());
+        Mono<List<DistributionRoute>> routes = part("routes", timeout, unavailable, List.of(),
+                routeRepository.findAllByOrganizationId(organizationId).collectList());
+        Mono<Optional<Fare>> fare = part("fare", timeout, unavailable, Optional.empty(),
+                fareRepository.findFirstByOrganizationIdAndStatusOrderByEffectiveDateDesc(organizationId, Constants.ACTIVE.name())
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty()));
+
+        return Mono.zip(programs, schedules, routes, fare)
+                .map(tuple -> assemble(organizationId, date, tuple.getT1(), tuple.getT2(), tuple.getT3(),
+                        tuple.getT4(), List.copyOf(unavailable)));
+    }
+
+    private <T> Mono<T> part(String name, Duration timeout, Queue<String> unavailable, T fallback, Mono<T> query) {
+        return query
+                .timeout(timeout)
+                .onErrorResume(error -> {
+                    log.warn("Day plan part '{}' unavailable: {}", name, error.toString());
+                    unavailable.add(name);
+                    return Mono.just(fallback);
+                });
+    }
+
+    private DayPlanResponse assemble(String organizationId, LocalDate date, List<DistributionProgram> programs,
+                                     List<DistributionSchedule> schedules, List<DistributionRoute> routes,
+                                     Optional<Fare> fare, List<String> unavailable) {
+        Map<String, DistributionSchedule> schedulesById = schedules.stream()
+                .collect(Collectors.toMap(DistributionSchedule::getId, Function.identity(), (a, b) -> a));
+        Map<String, DistributionRoute> routesById = routes.stream()
+                .collect(Collectors.toMap(DistributionRoute::getId, Function.identity(), (a, b) -> a));
+        DayOfWeek day = date.getDayOfWeek();
+
+        List<DayPlanResponse.ProgramItem> programItems = programs.stream()
+                .sorted(Comparator.comparing(DistributionProgram::getPlannedStartTime,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(program -> {
+                    DistributionSchedule schedule = program.getScheduleId() != null ? schedulesById.get(program.getScheduleId()) : null;
+                    DistributionRoute route = program.getRouteId() != null ? routesById.get(program.getRouteId()) : null;
+                    return DayPlanResponse.ProgramItem.builder()
+                            .id(program.getId())
+                            .programCode(program.getProgramCode())
+                            .status(program.getStatus())
+                            .zoneId(program.getZoneId())
+                            .streetId(program.getStreetId())
+                            .plannedStartTime(program.getPlannedStartTime())
+                            .plannedEndTime(program.getPlannedEndTime())
+                            .actualStartTime(program.getActualStartTime())
+                            .actualEndTime(program.getActualEndTime())
+                            .responsibleUserId(program.getResponsibleUserId() != null || route == null
+                                    ? program.getResponsibleUserId()
+                                    : route.getResponsibleUserId())
+                            .scheduleId(program.getScheduleId())
+                            .scheduleName(schedule != null ? schedule.getScheduleName() : null)
+                            .routeId(program.getRouteId())
+                            .routeName(route != null ? route.getRouteName() : null)
+                            .build();
+                })
+                .toList();
+
+        List<DayPlanResponse.ScheduleItem> scheduleItems = schedules.stream()
+                .filter(schedule -> schedule.getDaysOfWeek() != null && schedule.getDaysOfWeek().stream()
+                        .map(HourOfWeekMask::parseDay)
+                        .anyMatch(day::equals))
+                .map(schedule -> DayPlanResponse.ScheduleItem.builder()
+                        .id(schedule.getId())
+                        .scheduleCode(schedule.getScheduleCode())
+                        .scheduleName(schedule.getScheduleName())
+                        .zoneId(schedule.getZoneId())
+                        .streetId(schedule.getStreetId())
+                        .startTime(schedule.getStartTime())
+                        .endTime(schedule.getEndTime())
+                        .build())
+                .toList();
+
+        List<DayPlanResponse.RouteItem> routeItems = routes.stream()
+                .map(route -> DayPlanResponse.RouteItem.builder()
+                        .id(route.getId())
+                        .routeCode(route.getRouteCode())
+                        .routeName(route.getRouteName())
+                        .zones(route.getZones())
+                        .responsibleUserId(route.getResponsibleUserId())
+                        .status(route.getStatus())
+                        .build())
+                .toList();
+
+        DayPlanResponse.FareItem fareItem = fare
+                .map(current -> DayPlanResponse.FareItem.builder()
+                        .id(current.getId())
+                        .fareCode(current.getFareCode())
+                        .fareName(current.getFareName())
+                        .fareType(current.getFareType())
+                        .fareAmount(current.getFareAmount())
+                        .effectiveDate(current.getEffectiveDate())
+                        .build())
+                .orElse(null);
+
+        return DayPlanResponse.builder()
+                .organizationId(organizationId)
+                .date(date)
+                .programs(programItems)
+                .schedules(scheduleItems)
+                .routes(routeItems)
+                .currentFare(fareItem)
+                .unavailableParts(unavailable.isEmpty() ? Collections.emptyList() : unavailable)
+                .build();
+    }
+}
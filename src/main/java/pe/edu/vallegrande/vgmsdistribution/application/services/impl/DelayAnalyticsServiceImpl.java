@@ -0,0 +1,223 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.services.DelayAnalyticsService;
+import pe.edu.vallegrande.vgmsdistribution.domain.events.DelayAnomalyEvent;
+import pe.edu.vallegrande.vgmsdistribution.domain.events.ProgramCompletedEvent;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.HourOfWeekMask;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.P2Quantile;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DelayStatsResponse;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lleva en memoria un modelo de retrasos por ruta y por zona que se alimenta de
+ * los programas completados. Cada cierre actualiza en tiempo constante una EWMA
+ * y la mediana y el p90 P² del retraso de inicio y del exceso de duración; el
+ * historial nunca se vuelve a leer. Superar el umbral emite un único
+ * {@link DelayAnomalyEvent}, y la alerta solo se limpia cuando la EWMA vuelve a
+ * quedar por debajo de la fracción de limpieza del umbral
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DelayAnalyticsServiceImpl implements DelayAnalyticsService {
+
+    private static final String ROUTE = "ROUTE";
+    private static final String ZONE = "ZONE";
+    private static final String START_DELAY = "START_DELAY";
+    private static final String DURATION_OVERRUN = "DURATION_OVERRUN";
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final DistributionConfig config;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, ScopeStats> stats = new ConcurrentHashMap<>();
+    private final Deque<DelayAnomalyEvent> recentAnomalies = new ArrayDeque<>();
+
+    @EventListener
+    public void onProgramCompleted(ProgramCompletedEvent event) {
+        DistributionProgram program = event.program();
+        Integer startDelay = startDelayMinutes(program);
+        Integer overrun = overrunMinutes(program);
+        if (startDelay == null && overrun == null) {
+            return;
+        }
+        if (program.getRouteId() != null) {
+            record(program.getOrganizationId(), ROUTE, program.getRouteId(), startDelay, overrun);
+        }
+        if (program.getZoneId() != null) {
+            record(program.getOrganizationId(), ZONE, program.getZoneId(), startDelay, overrun);
+        }
+    }
+
+    @Override
+    public Flux<DelayStatsResponse> getStats(String organizationId) {
+        return Flux.fromIterable(stats.values())
+                .filter(scope -> scope.organizationId.equals(organizationId))
+                .map(ScopeStats::toResponse);
+    }
+
+    @Override
+    public Flux<DelayAnomalyEvent> getRecentAnomalies(String organizationId) {
+        List<DelayAnomalyEvent> snapshot;
+        synchronized (recentAnomalies) {
+            snapshot = List.copyOf(recentAnomalies);
+        }
+        return Flux.fromIterable(snapshot)
+                .filter(anomaly -> anomaly.organizationId().equals(organizationId));
+    }
+
+    private void record(String organizationId, String scope, String scopeId, Integer startDelay, Integer overrun) {
+        DistributionConfig.DelayAnalytics settings = config.getDelayAnalytics();
+        ScopeStats scopeStats = stats.computeIfAbsent(organizationId + "|" + scope + "|" + scopeId,
+                key -> new ScopeStats(organizationId, scope, scopeId, settings.getAlpha()));
+        if (startDelay != null) {
+            observe(scopeStats, scopeStats.startDelay, START_DELAY, startDelay, settings.getStartDelayThresholdMinutes());
+        }
+        if (overrun != null) {
+            observe(scopeStats, scopeStats.overrun, DURATION_OVERRUN, overrun, settings.getOverrunThresholdMinutes());
+        }
+    }
+
+    private void observe(ScopeStats scope, MetricStats metric, String metricName, double value, double threshold) {
+        DistributionConfig.DelayAnalytics settings = config.getDelayAnalytics();
+        DelayAnomalyEvent anomaly = null;
+        synchronized (metric) {
+            metric.add(value);
+            if (metric.samples() < settings.getMinSamples()) {
+                return;
+            }
+            if (!metric.anomalous && metric.ewma > threshold) {
+                metric.anomalous = true;
+                anomaly = new DelayAnomalyEvent(scope.organizationId, scope.scope, scope.scopeId, metricName,
+                        metric.ewma, metric.p90.value(), threshold, metric.samples(), Instant.now());
+            } else if (metric.anomalous && metric.ewma < threshold * settings.getClearRatio()) {
+                metric.anomalous = false;
+                log.info("Delay anomaly cleared for {} {} {}: ewma {} min", scope.scope, scope.scopeId, metricName,
+                        Math.round(metric.ewma));
+            }
+        }
+        if (anomaly != null) {
+            log.warn("Delay anomaly for {} {} {}: ewma {} min over threshold {} min after {} programs",
+                    anomaly.scope(), anomaly.scopeId(), metricName, Math.round(anomaly.ewma()), threshold, anomaly.samples());
+            synchronized (recentAnomalies) {
+                recentAnomalies.addFirst(anomaly);
+                while (recentAnomalies.size() > settings.getRecentAnomalies()) {
+                    recentAnomalies.removeLast();
+                }
+            }
+            eventPublisher.publishEvent(anomaly);
+        }
+    }
+
+    private static Integer startDelayMinutes(DistributionProgram program) {
+        LocalTime planned = HourOfWeekMask.parseTime(program.getPlannedStartTime());
+        LocalTime actual = HourOfWeekMask.parseTime(program.getActualStartTime());
+        if (planned == null || actual == null) {
+            return null;
+        }
+        // Distancia con signo más corta en el reloj: de 23:50 a 00:10 son 20 minutos de retraso
+        int delay = minuteOfDay(actual) - minuteOfDay(planned);
+        if (delay > MINUTES_PER_DAY / 2) {
+            delay -= MINUTES_PER_DAY;
+        } else if (delay < -MINUTES_PER_DAY / 2) {
+            delay += MINUTES_PER_DAY;
+        }
+        return delay;
+    }
+
+    private static Integer overrunMinutes(DistributionProgram program) {
+        Integer planned = spanMinutes(program.getPlannedStartTime(), program.getPlannedEndTime());
+        Integer actual = spanMinutes(program.getActualStartTime(), program.getActualEndTime());
+        return planned == null || actual == null ? null : actual - planned;
+    }
+
+    /**
+     * Minutos del inicio al fin en el reloj, pasando la medianoche; null si alguna hora no se puede leer
+     */
+    static Integer spanMinutes(String startTime, String endTime) {
+        LocalTime start = HourOfWeekMask.parseTime(startTime);
+        LocalTime end = HourOfWeekMask.parseTime(endTime);
+        if (start == null || end == null) {
+            return null;
+        }
+        int minutes = minuteOfDay(end) - minuteOfDay(start);
+        return minutes < 0 ? minutes + MINUTES_PER_DAY : minutes;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static final class ScopeStats {
+        private final String organizationId;
+        private final String scope;
+        private final String scopeId;
+        private final MetricStats startDelay;
+        private final MetricStats overrun;
+
+        private ScopeStats(String organizationId, String scope, String scopeId, double alpha) {
+            this.organizationId = organizationId;
+            this.scope = scope;
+            this.scopeId = scopeId;
+            this.startDelay = new MetricStats(alpha);
+            this.overrun = new MetricStats(alpha);
+        }
+
+        private DelayStatsResponse toResponse() {
+            return DelayStatsResponse.builder()
+                    .organizationId(organizationId)
+                    .scope(scope)
+                    .scopeId(scopeId)
+                    .startDelay(startDelay.toResponse())
+                    .durationOverrun(overrun.toResponse())
+                    .build();
+        }
+    }
+
+    private static final class MetricStats {
+        private final double alpha;
+        private final P2Quantile p50 = new P2Quantile(0.5);
+        private final P2Quantile p90 = new P2Quantile(0.9);
+        private double ewma;
+        private boolean anomalous;
+
+        private MetricStats(double alpha) {
+            this.alpha = alpha;
+        }
+
+        private void add(double value) {
+            ewma = p50.count() == 0 ? value : ewma + alpha * (value - ewma);
+            p50.add(value);
+            p90.add(value);
+        }
+
+        private long samples() {
+            return p50.count();
+        }
+
+        private synchronized DelayStatsResponse.Metric toResponse() {
+            return DelayStatsResponse.Metric.builder()
+                    .samples(samples())
+                    .ewmaMinutes(ewma)
+                    .p50Minutes(p50.value())
+                    .p90Minutes(p90.value())
+                    .anomalous(anomalous)
+                    .build();
+        }
+    }
+}
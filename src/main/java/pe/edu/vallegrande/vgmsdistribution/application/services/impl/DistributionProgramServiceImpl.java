@@ -2,24 +2,65 @@ package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
 import pe.edu.vallegrande.vgmsdistribution.application.services.DistributionProgramService;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.ProgramStatus;
+import pe.edu.vallegrande.vgmsdistribution.domain.events.ProgramCompletedEvent;
 import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.HourOfWeekMask;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out.UserBatchLoader;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.external.msusers.MsUsersUserInfo;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.BatchTransitionRequest;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.DistributionProgramCreateRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.ProgramTransitionRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.BatchTransitionResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DistributionProgramResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.EnrichedDistributionProgramResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ProgramConflictResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.exception.CustomException;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionProgramRepository;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionRouteRepository;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionScheduleRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DistributionProgramServiceImpl implements DistributionProgramService {
 
+    private static final DateTimeFormatter CLOCK = DateTimeFormatter.ofPattern("HH:mm");
+
     private final DistributionProgramRepository repository;
+    private final ExceptionCalendarIndex calendarIndex;
+    private final ResponsibleUserBookingIndex bookingIndex;
+    private final OperatorProgramCache operatorCache;
+    private final DistributionConfig config;
+    private final DistributionScheduleRepository scheduleRepository;
+    private final DistributionRouteRepository routeRepository;
+    private final ProgramReadModelPropagator readModelPropagator;
+    private final ReferenceIdIndex referenceIds;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserBatchLoader userLoader;
+    private final MsUsersConfig msUsersConfig;
 
     @Override
     public Flux<DistributionProgramResponse> getAll() {
@@ -47,60 +88,375 @@ public class DistributionProgramServiceImpl implements DistributionProgramServic
                 .plannedEndTime(request.getPlannedEndTime())
                 .responsibleUserId(request.getResponsibleUserId())
                 .observations(request.getObservations())
-                .status("PLANNED")
+                .status(ProgramStatus.PLANNED.name())
                 .createdAt(Instant.now())
                 .build();
+        program.setPlannedEndAt(plannedEndAt(program));
 
-        return repository.save(program)
-                .map(this::toResponse);
+        return ensureReferencesExist(request)
+                .then(ensureNotSuspended(request))
+                .then(denormalize(program))
+                .flatMap(repository::save)
+                .doOnNext(this::onProgramChanged)
+                .doOnNext(this::onResponsibleAssigned)
+                .flatMap(this::toResponseWithConflicts);
     }
 
     @Override
     public Mono<DistributionProgramResponse> update(String id, DistributionProgramCreateRequest request) {
-        return repository.findById(id)
-                .flatMap(existing -> {
-                    existing.setOrganizationId(request.getOrganizationId());
-                    existing.setProgramCode(request.getProgramCode());
-                    existing.setScheduleId(request.getScheduleId());
-                    existing.setRouteId(request.getRouteId());
-                    existing.setZoneId(request.getZoneId());
-                    existing.setStreetId(request.getStreetId());
-                    existing.setProgramDate(request.getProgramDate());
-                    existing.setPlannedStartTime(request.getPlannedStartTime());
-                    existing.setPlannedEndTime(request.getPlannedEndTime());
-                    existing.setResponsibleUserId(request.getResponsibleUserId());
-                    existing.setObservations(request.getObservations());
-                    
-                    return repository.save(existing);
+        return ensureReferencesExist(request)
+                .then(ensureNotSuspended(request))
+                .then(Mono.defer(() -> repository.findById(id).flatMap(existing -> applyUpdate(existing, request)))
+                        // A transition landed between the read and the write: read again and reapply
+                        .retryWhen(Retry.max(3)
+                                .filter(StaleProgramException.class::isInstance)
+                                .onRetryExhaustedThrow((spec, signal) -> new CustomException(
+                                        HttpStatus.CONFLICT.value(),
+                                        "Concurrent update",
+                                        "Program " + id + " keeps changing status, retry the update"))))
+                .flatMap(this::toResponseWithConflicts);
+    }
+
+    /**
+     * Writes only the editable fields, guarded by the status that was read, so a
+     * concurrent start/complete/cancel is never overwritten by a stale document
+     */
+    private Mono<DistributionProgram> applyUpdate(DistributionProgram existing, DistributionProgramCreateRequest request) {
+        String previousOrganizationId = existing.getOrganizationId();
+        String previousResponsibleUserId = existing.getResponsibleUserId();
+        String previousResponsibleUserName = existing.getResponsibleUserName();
+        existing.setOrganizationId(request.getOrganizationId());
+        existing.setProgramCode(request.getProgramCode());
+        existing.setScheduleId(request.getScheduleId());
+        existing.setRouteId(request.getRouteId());
+        existing.setZoneId(request.getZoneId());
+        existing.setStreetId(request.getStreetId());
+        existing.setProgramDate(request.getProgramDate());
+        existing.setPlannedStartTime(request.getPlannedStartTime());
+        existing.setPlannedEndTime(request.getPlannedEndTime());
+        existing.setResponsibleUserId(request.getResponsibleUserId());
+        existing.setObservations(request.getObservations());
+        existing.setPlannedEndAt(plannedEndAt(existing));
+        existing.setResponsibleUserName(Objects.equals(previousResponsibleUserId, existing.getResponsibleUserId())
+                ? previousResponsibleUserName
+                : null);
+
+        return denormalize(existing)
+                .flatMap(program -> repository.updateFields(program.getId(), program.getStatus(), editableFields(program)))
+                .switchIfEmpty(Mono.error(new StaleProgramException()))
+                .doOnNext(saved -> {
+                    operatorCache.evict(previousResponsibleUserId);
+                    onProgramChanged(saved);
+                    if (!Objects.equals(previousResponsibleUserId, saved.getResponsibleUserId())) {
+                        onResponsibleAssigned(saved);
+                    }
                 })
-                .map(this::toResponse);
+                .flatMap(saved -> previousOrganizationId != null
+                        && !previousOrganizationId.equals(saved.getOrganizationId())
+                        ? bookingIndex.release(previousOrganizationId, saved.getId()).thenReturn(saved)
+                        : Mono.just(saved));
+    }
+
+    private static Map<String, Object> editableFields(DistributionProgram program) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("organizationId", program.getOrganizationId());
+        fields.put("programCode", program.getProgramCode());
+        fields.put("scheduleId", program.getScheduleId());
+        fields.put("routeId", program.getRouteId());
+        fields.put("scheduleName", program.getScheduleName());
+        fields.put("routeName", program.getRouteName());
+        fields.put("zoneId", program.getZoneId());
+        fields.put("streetId", program.getStreetId());
+        fields.put("programDate", program.getProgramDate());
+        fields.put("plannedStartTime", program.getPlannedStartTime());
+        fields.put("plannedEndTime", program.getPlannedEndTime());
+        fields.put("plannedEndAt", program.getPlannedEndAt());
+        fields.put("responsibleUserId", program.getResponsibleUserId());
+        fields.put("responsibleUserName", program.getResponsibleUserName());
+        fields.put("observations", program.getObservations());
+        return fields;
     }
 
     @Override
     public Mono<Void> delete(String id) {
-        return repository.deleteById(id);
+        return repository.findById(id)
+                .flatMap(program -> repository.delete(program)
+                        .doOnSuccess(done -> onProgramChanged(program))
+                        .then(bookingIndex.release(program.getOrganizationId(), program.getId())));
     }
 
     @Override
     public Mono<DistributionProgramResponse> activate(String id) {
-        return repository.findById(id)
-                .flatMap(program -> {
-                    program.setStatus("ACTIVE");
-                    return repository.save(program);
-                })
+        return repository.setStatus(id, ProgramStatus.LEGACY_ACTIVE, ProgramStatus.TOGGLEABLE)
+                .switchIfEmpty(Mono.defer(() -> invalidTransition(id, ProgramStatus.LEGACY_ACTIVE)))
+                .doOnNext(this::onProgramChanged)
+                .flatMap(saved -> bookingIndex.book(saved).thenReturn(saved))
                 .map(this::toResponse);
     }
 
     @Override
     public Mono<DistributionProgramResponse> desactivate(String id) {
+        return repository.setStatus(id, Constants.INACTIVE.name(), ProgramStatus.TOGGLEABLE)
+                .switchIfEmpty(Mono.defer(() -> invalidTransition(id, Constants.INACTIVE.name())))
+                .doOnNext(this::onProgramChanged)
+                .flatMap(saved -> bookingIndex.book(saved).thenReturn(saved))
+                .map(this::toResponse);
+    }
+
+    @Override
+    public Mono<DistributionProgramResponse> start(String id, ProgramTransitionRequest request) {
+        return transition(id, ProgramStatus.IN_PROGRESS, request);
+    }
+
+    @Override
+    public Mono<DistributionProgramResponse> complete(String id, ProgramTransitionRequest request) {
+        return transition(id, ProgramStatus.COMPLETED, request);
+    }
+
+    @Override
+    public Mono<DistributionProgramResponse> cancel(String id, ProgramTransitionRequest request) {
+        return transition(id, ProgramStatus.CANCELLED, request);
+    }
+
+    /**
+     * Applies a status transition as one conditional findAndModify. When nothing
+     * matches, a second lookup only tells a missing program from an illegal transition.
+     */
+    private Mono<DistributionProgramResponse> transition(String id, ProgramStatus target, ProgramTransitionRequest request) {
+        Map<String, Object> fields = transitionFields(target,
+                request != null ? request.getTime() : null,
+                request != null ? request.getObservations() : null);
+        return repository.transition(id, target, fields)
+                .switchIfEmpty(Mono.defer(() -> invalidTransition(id, target.name())))
+                .doOnNext(this::onProgramChanged)
+                .doOnNext(this::publishIfCompleted)
+                .flatMap(saved -> bookingIndex.book(saved).thenReturn(saved))
+                .map(this::toResponse);
+    }
+
+    /**
+     * Explains an empty guarded update: the program is missing or its status does not allow the move
+     */
+    private Mono<DistributionProgram> invalidTransition(String id, String target) {
         return repository.findById(id)
-                .flatMap(program -> {
-                    program.setStatus("INACTIVE");
-                    return repository.save(program);
-                })
+                .switchIfEmpty(Mono.error(CustomException.notFound("Distribution program", id)))
+                .flatMap(current -> Mono.error(new CustomException(
+                        HttpStatus.CONFLICT.value(),
+                        "Invalid status transition",
+                        "Program " + id + " is " + current.getStatus() + " and cannot move to " + target)));
+    }
+
+    @Override
+    public Mono<BatchTransitionResponse> transitionBatch(BatchTransitionRequest request) {
+        ProgramStatus target;
+        try {
+            target = ProgramStatus.valueOf(request.getTargetStatus());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Mono.error(CustomException.badRequest("Invalid target status",
+                    "targetStatus must be IN_PROGRESS, COMPLETED or CANCELLED"));
+        }
+        if (target == ProgramStatus.PLANNED) {
+            return Mono.error(CustomException.badRequest("Invalid target status", "Programs cannot move back to PLANNED"));
+        }
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!byIds && request.getOrganizationId() == null) {
+            return Mono.error(CustomException.badRequest("Invalid batch",
+                    "Either ids or an organizationId filter is required"));
+        }
+
+        int limit = config.getBatch().getMaxPrograms();
+        Mono<List<String>> ids = byIds
+                ? Mono.just(request.getIds().stream().distinct().toList())
+                : repository.findIdsByFilter(request.getOrganizationId(), request.getProgramDate(), request.getZoneId())
+                        .take(limit + 1L)
+                        .collectList();
+
+        String batchId = UUID.randomUUID().toString();
+        Map<String, Object> fields = transitionFields(target, request.getTime(), request.getObservations());
+
+        return ids.flatMap(programIds -> {
+            if (programIds.size() > limit) {
+                return Mono.error(CustomException.badRequest("Batch too large",
+                        "A batch may touch at most " + limit + " programs"));
+            }
+            // One guarded updateMany tags the documents it moved; one read resolves every outcome
+            return repository.transitionAll(programIds, target, fields, batchId)
+                    .then(repository.findAllById(programIds).collectList())
+                    .flatMap(programs -> {
+                        BatchTransitionResponse response = toBatchResponse(batchId, target, programIds, programs);
+                        return Flux.fromIterable(programs)
+                                .filter(program -> batchId.equals(program.getTransitionBatchId()))
+                                .doOnNext(this::onProgramChanged)
+                                .doOnNext(this::publishIfCompleted)
+                                .concatMap(bookingIndex::book)
+                                .then(Mono.just(response));
+                    });
+        });
+    }
+
+    private BatchTransitionResponse toBatchResponse(String batchId, ProgramStatus target, List<String> requestedIds,
+                                                    List<DistributionProgram> programs) {
+        Map<String, DistributionProgram> byId = new HashMap<>();
+        programs.forEach(program -> byId.put(program.getId(), program));
+
+        List<BatchTransitionResponse.Outcome> outcomes = new ArrayList<>(requestedIds.size());
+        int applied = 0;
+        for (String id : requestedIds) {
+            DistributionProgram program = byId.get(id);
+            BatchTransitionResponse.Outcome.OutcomeBuilder outcome = BatchTransitionResponse.Outcome.builder().programId(id);
+            if (program == null) {
+                outcome.result(BatchTransitionResponse.NOT_FOUND);
+            } else if (batchId.equals(program.getTransitionBatchId())) {
+                applied++;
+                outcome.result(BatchTransitionResponse.APPLIED).status(program.getStatus());
+            } else {
+                outcome.result(BatchTransitionResponse.REJECTED)
+                        .status(program.getStatus())
+                        .reason(program.getStatus() + " cannot move to " + target.name());
+            }
+            outcomes.add(outcome.build());
+        }
+        log.info("Batch {} moved {} of {} programs to {}", batchId, applied, requestedIds.size(), target);
+        return BatchTransitionResponse.builder()
+                .batchId(batchId)
+                .targetStatus(target.name())
+                .requested(requestedIds.size())
+                .applied(applied)
+                .outcomes(outcomes)
+                .build();
+    }
+
+    /**
+     * Absolute planned end used by the auto-close job; windows ending at or before
+     * their start finish on the next day
+     */
+    private Instant plannedEndAt(DistributionProgram program) {
+        return plannedEndAt(program, config.zoneId());
+    }
+
+    /**
+     * Absolute planned end; a window ending at or before its start ends the next day
+     */
+    static Instant plannedEndAt(DistributionProgram program, ZoneId zone) {
+        LocalTime end = HourOfWeekMask.parseTime(program.getPlannedEndTime());
+        if (program.getProgramDate() == null || end == null) {
+            return null;
+        }
+        LocalTime start = HourOfWeekMask.parseTime(program.getPlannedStartTime());
+        LocalDate endDate = start != null && !end.isAfter(start)
+                ? program.getProgramDate().plusDays(1)
+                : program.getProgramDate();
+        return endDate.atTime(end).atZone(zone).toInstant();
+    }
+
+    /**
+     * Feeds operator completions to the delay analytics; auto-closed programs are
+     * left out since their end time is copied from the plan
+     */
+    private void publishIfCompleted(DistributionProgram program) {
+        if (ProgramStatus.COMPLETED.name().equals(program.getStatus())) {
+            eventPublisher.publishEvent(new ProgramCompletedEvent(program));
+        }
+    }
+
+    private Map<String, Object> transitionFields(ProgramStatus target, String time, String observations) {
+        Map<String, Object> fields = new HashMap<>();
+        String timeField = switch (target) {
+            case IN_PROGRESS -> "actualStartTime";
+            case COMPLETED -> "actualEndTime";
+            default -> null;
+        };
+        if (timeField != null) {
+            fields.put(timeField, time != null ? time : LocalTime.now(config.zoneId()).format(CLOCK));
+        }
+        if (observations != null) {
+            fields.put("observations", observations);
+        }
+        return fields;
+    }
+
+    @Override
+    public void refreshResponsibleUser(String userId) {
+        readModelPropagator.userChanged(userId);
+    }
+
+    @Override
+    public Mono<List<ProgramConflictResponse>> getConflicts(String organizationId, LocalDate weekStart) {
+        return bookingIndex.conflicts(organizationId, weekStart);
+    }
+
+    @Override
+    public Flux<DistributionProgramResponse> getArchived(String organizationId, LocalDate from, LocalDate to) {
+        return repository.findArchived(organizationId, from, to)
                 .map(this::toResponse);
     }
 
+    @Override
+    public Mono<DistributionProgramResponse> getArchivedById(String id) {
+        return repository.findArchivedById(id)
+                .switchIfEmpty(Mono.error(CustomException.notFound("Archived program", id)))
+                .map(this::toResponse);
+    }
+
+    @Override
+    public Mono<List<DistributionProgramResponse>> getMine(String userId, LocalDate date) {
+        return operatorCache.get(userId, date, () -> repository.findAllByResponsibleUserIdAndProgramDate(userId, date)
+                .map(this::toResponse)
+                .collectList());
+    }
+
+    /**
+     * Drops cached views that may include the written program
+     */
+    private void onProgramChanged(DistributionProgram program) {
+        operatorCache.evict(program.getResponsibleUserId());
+    }
+
+    /**
+     * Queues the name lookup of a newly assigned responsible user; other writes
+     * leave the denormalized name alone
+     */
+    private void onResponsibleAssigned(DistributionProgram program) {
+        if (program.getResponsibleUserName() == null) {
+            readModelPropagator.userChanged(program.getResponsibleUserId());
+        }
+    }
+
+    /**
+     * Copies the schedule and route names into the program so reads need no joins.
+     * The responsible user's name is filled asynchronously by the propagator.
+     */
+    private Mono<DistributionProgram> denormalize(DistributionProgram program) {
+        Mono<String> scheduleName = program.getScheduleId() == null
+                ? Mono.just("")
+                : scheduleRepository.findById(program.getScheduleId())
+                        .map(schedule -> schedule.getScheduleName() != null ? schedule.getScheduleName() : "")
+                        .defaultIfEmpty("");
+        Mono<String> routeName = program.getRouteId() == null
+                ? Mono.just("")
+                : routeRepository.findById(program.getRouteId())
+                        .map(route -> route.getRouteName() != null ? route.getRouteName() : "")
+                        .defaultIfEmpty("");
+        return Mono.zip(scheduleName, routeName)
+                .map(names -> {
+                    program.setScheduleName(names.getT1().isEmpty() ? null : names.getT1());
+                    program.setRouteName(names.getT2().isEmpty() ? null : names.getT2());
+                    return program;
+                });
+    }
+
+    /**
+     * Books the saved program in the responsible-user index and reports the programs it overlaps
+     */
+    private Mono<DistributionProgramResponse> toResponseWithConflicts(DistributionProgram program) {
+        return bookingIndex.book(program)
+                .map(conflicts -> {
+                    DistributionProgramResponse response = toResponse(program);
+                    response.setConflictingProgramIds(conflicts);
+                    return response;
+                });
+    }
+
     private DistributionProgramResponse toResponse(DistributionProgram program) {
         return DistributionProgramResponse.builder()
                 .id(program.getId())
@@ -108,6 +464,8 @@ public class DistributionProgramServiceImpl implements DistributionProgramServic
                 .programCode(program.getProgramCode())
                 .scheduleId(program.getScheduleId())
                 .routeId(program.getRouteId())
+                .scheduleName(program.getScheduleName())
+                .routeName(program.getRouteName())
                 .zoneId(program.getZoneId())
                 .streetId(program.getStreetId())
                 .programDate(program.getProgramDate())
@@ -117,7 +475,9 @@ public class DistributionProgramServiceImpl implements DistributionProgramServic
                 .actualEndTime(program.getActualEndTime())
                 .status(program.getStatus())
                 .responsibleUserId(program.getResponsibleUserId())
+                .responsibleUserName(program.getResponsibleUserName())
                 .observations(program.getObservations())
+                .overdue(program.getOverdue())
                 .createdAt(program.getCreatedAt())
                 .build();
     }
@@ -127,13 +487,44 @@ public class DistributionProgramServiceImpl implements DistributionProgramServic
     @Override
     public Mono<EnrichedDistributionProgramResponse> getEnrichedById(String id) {
         return repository.findById(id)
-                .map(this::toEnrichedResponse);
+                .map(this::toEnrichedResponse)
+                .flatMap(this::withResponsibleUserName);
     }
     
     @Override
     public Flux<EnrichedDistributionProgramResponse> getAllEnriched() {
+        // Pages keep memory bounded while each resolves its distinct users in one bounded pass
         return repository.findAll()
-                .map(this::toEnrichedResponse);
+                .map(this::toEnrichedResponse)
+                .buffer(msUsersConfig.getLoader().getPageSize())
+                .concatMap(page -> userLoader.loadAll(page.stream()
+                                .filter(response -> response.getResponsibleUserName() == null)
+                                .map(EnrichedDistributionProgramResponse::getResponsibleUserId)
+                                .toList())
+                        .flatMapIterable(users -> {
+                            page.forEach(response -> fillResponsibleUserName(response, users.get(response.getResponsibleUserId())));
+                            return page;
+                        }));
+    }
+
+    /**
+     * Fills in the responsible user name when the read model has not caught up yet
+     */
+    private Mono<EnrichedDistributionProgramResponse> withResponsibleUserName(EnrichedDistributionProgramResponse response) {
+        if (response.getResponsibleUserName() != null || response.getResponsibleUserId() == null) {
+            return Mono.just(response);
+        }
+        return userLoader.load(response.getResponsibleUserId())
+                .map(user -> fillResponsibleUserName(response, user))
+                .defaultIfEmpty(response);
+    }
+
+    private EnrichedDistributionProgramResponse fillResponsibleUserName(EnrichedDistributionProgramResponse response,
+                                                                        MsUsersUserInfo user) {
+        if (user != null && response.getResponsibleUserName() == null) {
+            response.setResponsibleUserName(ProgramReadModelPropagator.displayName(user));
+        }
+        return response;
     }
     
     @Override
@@ -150,12 +541,64 @@ public class DistributionProgramServiceImpl implements DistributionProgramServic
                 .plannedEndTime(request.getPlannedEndTime())
                 .responsibleUserId(request.getResponsibleUserId())
                 .observations(request.getObservations())
-                .status("PLANNED")
+                .status(ProgramStatus.PLANNED.name())
                 .createdAt(Instant.now())
                 .build();
+        program.setPlannedEndAt(plannedEndAt(program));
+
+        return ensureReferencesExist(request)
+                .then(ensureNotSuspended(request))
+                .then(denormalize(program))
+                .flatMap(repository::save)
+                .doOnNext(this::onProgramChanged)
+                .doOnNext(this::onResponsibleAssigned)
+                .flatMap(saved -> bookingIndex.book(saved)
+                        .map(conflicts -> {
+                            EnrichedDistributionProgramResponse response = toEnrichedResponse(saved);
+                            response.setConflictingProgramIds(conflicts);
+                            return response;
+                        }));
+    }
+
+    /**
+     * Rejects programs pointing at a schedule or route that does not exist,
+     * checked against the in-memory id sets
+     */
+    private Mono<Void> ensureReferencesExist(DistributionProgramCreateRequest request) {
+        Mono<Boolean> scheduleOk = request.getScheduleId() == null
+                ? Mono.just(true)
+                : referenceIds.scheduleExists(request.getScheduleId());
+        Mono<Boolean> routeOk = request.getRouteId() == null
+                ? Mono.just(true)
+                : referenceIds.routeExists(request.getRouteId());
+        return Mono.zip(scheduleOk, routeOk)
+                .flatMap(found -> {
+                    if (!found.getT1()) {
+                        return Mono.error(CustomException.badRequest("Unknown schedule",
+                                "Schedule " + request.getScheduleId() + " does not exist"));
+                    }
+                    if (!found.getT2()) {
+                        return Mono.error(CustomException.badRequest("Unknown route",
+                                "Route " + request.getRouteId() + " does not exist"));
+                    }
+                    return Mono.empty();
+                });
+    }
 
-        return repository.save(program)
-                .map(this::toEnrichedResponse);
+    /**
+     * Rejects programs planned on a day the exception calendar marks as suspended
+     */
+    private Mono<Void> ensureNotSuspended(DistributionProgramCreateRequest request) {
+        if (request.getProgramDate() == null) {
+            return Mono.empty();
+        }
+        return calendarIndex.forOrganization(request.getOrganizationId())
+                .flatMap(calendar -> calendar.isSuspended(request.getZoneId(), request.getProgramDate())
+                        ? Mono.error(new CustomException(
+                                HttpStatus.BAD_REQUEST.value(),
+                                "Distribution suspended",
+                                "Distribution is suspended on " + request.getProgramDate() + " for this zone"))
+                        : Mono.empty());
     }
     
     private EnrichedDistributionProgramResponse toEnrichedResponse(DistributionProgram program) {
@@ -165,6 +608,8 @@ public class DistributionProgramServiceImpl implements DistributionProgramServic
                 .programCode(program.getProgramCode())
                 .scheduleId(program.getScheduleId())
                 .routeId(program.getRouteId())
+                .scheduleName(program.getScheduleName())
+                .routeName(program.getRouteName())
                 .zoneId(program.getZoneId())
                 .streetId(program.getStreetId())
                 .programDate(program.getProgramDate())
@@ -174,8 +619,18 @@ public class DistributionProgramServiceImpl implements DistributionProgramServic
                 .actualEndTime(program.getActualEndTime())
                 .status(program.getStatus())
                 .responsibleUserId(program.getResponsibleUserId())
+                .responsibleUserName(program.getResponsibleUserName())
                 .observations(program.getObservations())
                 .createdAt(program.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * The program changed status between the read and the guarded write
+     */
+    private static final class StaleProgramException extends RuntimeException {
+        private StaleProgramException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -5,11 +5,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import pe.edu.vallegrande.vgmsdistribution.application.services.CascadeTaskService;
 import pe.edu.vallegrande.vgmsdistribution.application.services.DistributionRouteService;
 import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
 import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.DistributionRouteCreateRequest;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DistributionRouteResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DurationEstimateResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.EnrichedDistributionRouteResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.exception.CustomException;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionRouteRepository;
@@ -25,6 +27,21 @@ public class DistributionRouteServiceImpl implements DistributionRouteService {
     @Autowired
     private DistributionRouteRepository repository;
 
+    @Autowired
+    private ResponsibleUserBookingIndex bookingIndex;
+
+    @Autowired
+    private ProgramReadModelPropagator readModelPropagator;
+
+    @Autowired
+    private ReferenceIdIndex referenceIds;
+
+    @Autowired
+    private CascadeTaskService cascadeTaskService;
+
+    @Autowired
+    private RouteDurationEstimator durationEstimator;
+
     @Override
     public Flux<DistributionRoute> getAll() {
         return repository.findAll();
@@ -74,6 +91,9 @@ public class DistributionRouteServiceImpl implements DistributionRouteService {
                                             .build();
 
                                     return repository.save(route)
+                                            .doOnNext(saved -> referenceIds.addRoute(saved.getId()))
+                                            .flatMap(saved -> bookingIndex.onRouteSaved(saved).thenReturn(saved))
+                                            .doOnNext(readModelPropagator::routeChanged)
                                             .map(saved -> DistributionRouteResponse.builder()
                                                     .id(saved.getId())
                                                     .organizationId(saved.getOrganizationId())
@@ -81,6 +101,7 @@ public class DistributionRouteServiceImpl implements DistributionRouteService {
                                                     .routeName(saved.getRouteName())
                                                     .zoneId(saved.getZones())
                                                     .totalEstimatedDuration(saved.getTotalEstimatedDuration())
+                                                    .learnedDuration(durationEstimator.forRoute(saved.getOrganizationId(), saved.getId()))
                                                     .responsibleUserId(saved.getResponsibleUserId())
                                                     .status(saved.getStatus())
                                                     .createdAt(saved.getCreatedAt())
@@ -117,7 +138,9 @@ public class DistributionRouteServiceImpl implements DistributionRouteService {
                     existing.setTotalEstimatedDuration(route.getTotalEstimatedDuration());
                     existing.setResponsibleUserId(route.getResponsibleUserId());
                     return repository.save(existing);
-                });
+                })
+                .flatMap(saved -> bookingIndex.onRouteSaved(saved).thenReturn(saved))
+                .doOnNext(readModelPropagator::routeChanged);
     }
 
     @Override
@@ -127,7 +150,13 @@ public class DistributionRouteServiceImpl implements DistributionRouteService {
                         HttpStatus.NOT_FOUND.value(),
                         "Route not found",
                         "Cannot delete route with id " + id)))
-                .flatMap(repository::delete);
+                // The task is saved first so a failure after the delete cannot leave orphans behind
+                .flatMap(route -> cascadeTaskService.enqueue(
+                                CascadeTaskServiceImpl.ROUTE, route.getId(), route.getOrganizationId())
+                        .then(repository.delete(route))
+                        .doOnSuccess(done -> referenceIds.removeRoute(route.getId()))
+                        .then(bookingIndex.onRouteDeleted(route)))
+                .then();
     }
 
     @Override
@@ -182,6 +211,11 @@ public class DistributionRouteServiceImpl implements DistributionRouteService {
                 .map(this::toEnrichedResponse);
     }
     
+    @Override
+    public Flux<DurationEstimateResponse> getDurationEstimates(String organizationId) {
+        return Flux.defer(() -> Flux.fromIterable(durationEstimator.forOrganization(organizationId)));
+    }
+
     private EnrichedDistributionRouteResponse toEnrichedResponse(DistributionRoute route) {
         return EnrichedDistributionRouteResponse.builder()
                 .id(route.getId())
@@ -190,6 +224,7 @@ public class DistributionRouteServiceImpl implements DistributionRouteService {
                 .routeName(route.getRouteName())
                 .zoneId(route.getZones())
                 .totalEstimatedDuration(route.getTotalEstimatedDuration())
+                .learnedDuration(durationEstimator.forRoute(route.getOrganizationId(), route.getId()))
                 .responsibleUserId(route.getResponsibleUserId())
                 .status(route.getStatus())
                 .createdAt(route.getCreatedAt())
@@ -5,7 +5,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import pe.edu.vallegrande.vgmsdistribution.application.services.CascadeTaskService;
 import pe.edu.vallegrande.vgmsdistribution.application.services.DistributionScheduleService;
+import pe.edu.vallegrande.vgmsdistribution.application.services.PublicScheduleService;
+import pe.edu.vallegrande.vgmsdistribution.application.services.ZoneCoverageService;
 import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
 import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.DistributionScheduleCreateRequest;
@@ -25,6 +28,21 @@ public class DistributionScheduleServiceImpl implements DistributionScheduleServ
     @Autowired
     private DistributionScheduleRepository repository;
 
+    @Autowired
+    private ZoneCoverageService coverageService;
+
+    @Autowired
+    private PublicScheduleService publicScheduleService;
+
+    @Autowired
+    private ProgramReadModelPropagator readModelPropagator;
+
+    @Autowired
+    private ReferenceIdIndex referenceIds;
+
+    @Autowired
+    private CascadeTaskService cascadeTaskService;
+
     @Override
     public Flux<DistributionSchedule> getAll() {
         return repository.findAll();
@@ -77,6 +95,8 @@ public Mono<DistributionScheduleResponse> save(DistributionScheduleCreateRequest
                             .build();
 
                     return repository.save(schedule)
+                            .doOnNext(saved -> referenceIds.addSchedule(saved.getId()))
+                            .doOnNext(this::onScheduleChanged)
                             .map(saved -> DistributionScheduleResponse.builder()
                                     .id(saved.getId())
                                     .organizationId(saved.getOrganizationId())
@@ -126,7 +146,8 @@ private Mono<String> generateNextScheduleCode() {
                     existing.setEndTime(schedule.getEndTime());
                     existing.setDurationHours(schedule.getDurationHours());
                     return repository.save(existing);
-                });
+                })
+                .doOnNext(this::onScheduleChanged);
     }
 
     @Override
@@ -136,7 +157,15 @@ private Mono<String> generateNextScheduleCode() {
                         HttpStatus.NOT_FOUND.value(),
                         "Schedule not found",
                         "Cannot delete schedule with id " + id)))
-                .flatMap(repository::delete);
+                // The task is saved first so a failure after the delete cannot leave orphans behind
+                .flatMap(existing -> cascadeTaskService.enqueue(
+                                CascadeTaskServiceImpl.SCHEDULE, existing.getId(), existing.getOrganizationId())
+                        .then(repository.delete(existing))
+                        .then(Mono.fromRunnable(() -> {
+                            referenceIds.removeSchedule(existing.getId());
+                            onScheduleChanged(existing);
+                        })))
+                .then();
     }
 
     @Override
@@ -158,7 +187,8 @@ private Mono<String> generateNextScheduleCode() {
                 .flatMap(schedule -> {
                     schedule.setStatus(status);
                     return repository.save(schedule);
-                });
+                })
+                .doOnNext(this::onScheduleChanged);
     }
     
     // New methods for enriched distribution schedule data
@@ -219,11 +249,22 @@ private Mono<String> generateNextScheduleCode() {
                                 .build();
 
                         return repository.save(schedule)
+                                .doOnNext(saved -> referenceIds.addSchedule(saved.getId()))
+                                .doOnNext(this::onScheduleChanged)
                                 .map(this::toEnrichedResponse);
                     })
             );
     }
     
+    /**
+     * Drops the derived views that depend on the schedules of the organization
+     */
+    private void onScheduleChanged(DistributionSchedule schedule) {
+        coverageService.invalidate(schedule.getOrganizationId());
+        publicScheduleService.invalidate(schedule.getOrganizationId());
+        readModelPropagator.scheduleChanged(schedule);
+    }
+
     private EnrichedDistributionScheduleResponse toEnrichedResponse(DistributionSchedule schedule) {
         return EnrichedDistributionScheduleResponse.builder()
                 .id(schedule.getId())
@@ -0,0 +1,59 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CompiledExceptionCalendar;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.CalendarExceptionRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one compiled exception calendar per organization in memory.
+ * Calendars are compiled lazily on first use and recompiled only for the
+ * organization whose exceptions changed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExceptionCalendarIndex {
+
+    private final CalendarExceptionRepository repository;
+
+    private final Map<String, Mono<CompiledExceptionCalendar>> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled calendar of the organization, compiling it once if needed
+     */
+    public Mono<CompiledExceptionCalendar> forOrganization(String organizationId) {
+        if (organizationId == null) {
+            return Mono.just(CompiledExceptionCalendar.EMPTY);
+        }
+        return calendars.computeIfAbsent(organizationId, this::compile);
+    }
+
+    /**
+     * Drops the compiled calendar of the organization so the next lookup rebuilds it
+     */
+    public void recompile(String organizationId) {
+        if (organizationId != null) {
+            calendars.remove(organizationId);
+            log.debug("Exception calendar of organization {} scheduled for recompilation", organizationId);
+        }
+    }
+
+    private Mono<CompiledExceptionCalendar> compile(String organizationId) {
+        return repository.findAllByOrganizationIdAndStatus(organizationId, Constants.ACTIVE.name())
+                .collectList()
+                .map(CompiledExceptionCalendar::compile)
+                .doOnNext(calendar -> log.debug("Compiled exception calendar for organization {}", organizationId))
+                .doOnError(error -> {
+                    log.error("Error compiling exception calendar for organization {}: {}", organizationId, error.getMessage());
+                    calendars.remove(organizationId);
+                })
+                .cache();
+    }
+}
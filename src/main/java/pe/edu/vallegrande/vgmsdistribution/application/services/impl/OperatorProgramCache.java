@@ -0,0 +1,82 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DistributionProgramResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of the programs assigned to an operator for a day. Concurrent
+ * requests for the same operator and day share one load, and every program
+ * write evicts the entries of the responsible users it touches.
+ */
+@Component
+@Slf4j
+public class OperatorProgramCache {
+
+    private final AsyncCache<Key, List<DistributionProgramResponse>> cache;
+    // Cached days of each user, so evicting a user does not scan the whole cache
+    private final Map<String, Set<Key>> keysByUser = new ConcurrentHashMap<>();
+
+    public OperatorProgramCache(DistributionConfig config) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(config.getMyPrograms().getCacheTtlSeconds()))
+                .maximumSize(config.getMyPrograms().getCacheMaxEntries())
+                .removalListener((Key key, List<DistributionProgramResponse> value, RemovalCause cause) -> {
+                    if (key != null) {
+                        unindex(key);
+                    }
+                })
+                .buildAsync();
+    }
+
+    public Mono<List<DistributionProgramResponse>> get(String userId, LocalDate date,
+                                                       Supplier<Mono<List<DistributionProgramResponse>>> loader) {
+        Key key = new Key(userId, date);
+        // Cancelling one subscriber must not cancel the load shared with the others
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> {
+            keysByUser.computeIfAbsent(userId, user -> ConcurrentHashMap.newKeySet()).add(k);
+            return loader.get().toFuture();
+        }), true);
+    }
+
+    public void evict(String userId) {
+        if (userId == null) {
+            return;
+        }
+        Set<Key> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            cache.synchronous().invalidateAll(keys);
+            log.debug("Evicted cached programs of user {}", userId);
+        }
+    }
+
+    /**
+     * Used after bulk updates that do not report which users they touched
+     */
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private void unindex(Key key) {
+        keysByUser.computeIfPresent(key.userId(), (user, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record Key(String userId, LocalDate date) {
+    }
+}
@@ -0,0 +1,72 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionProgramRepository;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionProgramRepositoryCustomImpl;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgramArchiveJob {
+
+    private final DistributionProgramRepository repository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OperatorProgramCache operatorCache;
+    private final DistributionConfig config;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    void ensureArchiveIndexes() {
+        // The archive is not mapped to an entity, so MongoIndexInitializer does not cover it
+        mongoTemplate.indexOps(DistributionProgramRepositoryCustomImpl.ARCHIVE_COLLECTION)
+                .createIndex(new Index()
+                        .on("organizationId", Sort.Direction.ASC)
+                        .on("programDate", Sort.Direction.ASC)
+                        .named("organization_date_idx"))
+                .subscribe(
+                        name -> log.debug("Program archive index {} ready", name),
+                        error -> log.error("Error creating program archive index: {}", error.getMessage()));
+    }
+
+    /**
+     * Moves programs older than the retention window out of the hot collection,
+     * one batch at a time, so that the working set and indexes of the programs
+     * collection only cover recent months.
+     */
+    @Scheduled(cron = "${distribution.archive.cron:0 0 4 * * *}")
+    public void archiveOldPrograms() {
+        DistributionConfig.Archive archive = config.getArchive();
+        if (!archive.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now(config.zoneId()).minusMonths(archive.getRetentionMonths());
+
+        repository.archiveBatch(cutoff, archive.getBatchSize())
+                .expand(moved -> moved >= archive.getBatchSize()
+                        ? repository.archiveBatch(cutoff, archive.getBatchSize())
+                        : Mono.empty())
+                .reduce(0L, Long::sum)
+                .doFinally(signal -> running.set(false))
+                .subscribe(
+                        moved -> {
+                            if (moved > 0) {
+                                log.info("Archived {} programs dated before {}", moved, cutoff);
+                                operatorCache.evictAll();
+                            }
+                        },
+                        error -> log.error("Error archiving programs: {}", error.getMessage()));
+    }
+}
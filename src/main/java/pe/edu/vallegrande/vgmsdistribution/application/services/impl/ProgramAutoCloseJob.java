@@ -0,0 +1,81 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionProgramRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgramAutoCloseJob {
+
+    private final DistributionProgramRepository repository;
+    private final OperatorProgramCache operatorCache;
+    private final DistributionConfig config;
+
+    /**
+     * Programs created before plannedEndAt existed are invisible to the auto-close
+     * query and to the duration warm-up; compute it for them once, in batches
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPlannedEnd() {
+        DistributionConfig.AutoClose autoClose = config.getAutoClose();
+        if (!autoClose.isBackfillPlannedEnd()) {
+            return;
+        }
+        repository.findMissingPlannedEndAt()
+                .buffer(autoClose.getBackfillBatchSize())
+                .concatMap(batch -> {
+                    Map<String, Instant> plannedEnds = new HashMap<>();
+                    batch.forEach(program -> {
+                        Instant plannedEndAt = DistributionProgramServiceImpl.plannedEndAt(program, config.zoneId());
+                        if (plannedEndAt != null) {
+                            plannedEnds.put(program.getId(), plannedEndAt);
+                        }
+                    });
+                    return repository.setPlannedEndAt(plannedEnds);
+                })
+                .reduce(0L, Long::sum)
+                .subscribe(
+                        updated -> {
+                            if (updated > 0) {
+                                log.info("Backfilled plannedEndAt on {} programs", updated);
+                            }
+                        },
+                        error -> log.error("Error backfilling plannedEndAt: ", error));
+    }
+
+    /**
+     * Closes or flags IN_PROGRESS programs past their planned end plus a grace period.
+     * Each run is a single bulk update on the (status, plannedEndAt) index.
+     */
+    @Scheduled(fixedDelayString = "${distribution.auto-close.fixed-delay-ms:300000}")
+    public void closeOverduePrograms() {
+        DistributionConfig.AutoClose autoClose = config.getAutoClose();
+        if (!autoClose.isEnabled()) {
+            return;
+        }
+        boolean complete = "COMPLETE".equalsIgnoreCase(autoClose.getMode());
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(autoClose.getGraceMinutes()));
+
+        repository.closeOverdue(cutoff, complete)
+                .subscribe(
+                        modified -> {
+                            if (modified > 0) {
+                                log.info("{} {} overdue programs", complete ? "Completed" : "Flagged", modified);
+                                operatorCache.evictAll();
+                            }
+                        },
+                        error -> log.error("Error closing overdue programs: ", error));
+    }
+}
@@ -0,0 +1,159 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.services.ProgramIntegrityService;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.IntegrityReportResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.IntegrityReportResponse.ReferenceCheck;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.exception.CustomException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks program references with a merge join over two sorted id cursors:
+ * programs ordered by the reference field and the referenced collection ordered
+ * by _id. Both cursors only move forward, so memory stays constant no matter how
+ * many programs exist. Relies on the reference indexes of {@link DistributionProgram}
+ * and on ids being ObjectIds, whose sort order matches their hex strings.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgramIntegrityServiceImpl implements ProgramIntegrityService {
+
+    private static final int CURSOR_BATCH = 512;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReferenceIdIndex referenceIds;
+    private final DistributionConfig config;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Override
+    public Mono<IntegrityReportResponse> check(boolean repair) {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                return Mono.error(new CustomException(
+                        HttpStatus.CONFLICT.value(),
+                        "Integrity check already running",
+                        "Wait for the running check to finish"));
+            }
+            // The join walks blocking iterators, so it runs off the event loop
+            return Mono.fromCallable(() -> run(repair))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doFinally(signal -> running.set(false));
+        });
+    }
+
+    @Scheduled(cron = "${distribution.integrity.cron:0 30 3 * * *}")
+    public void scheduledCheck() {
+        if (!config.getIntegrity().isEnabled()) {
+            return;
+        }
+        check(config.getIntegrity().isRepair())
+                .subscribe(
+                        report -> report.getChecks().forEach(check -> log.info(
+                                "Integrity check {}: {} programs, {} orphans, {} repaired",
+                                check.getField(), check.getProgramsChecked(), check.getOrphans(), check.getRepaired())),
+                        error -> log.error("Error running program integrity check: {}", error.getMessage()));
+    }
+
+    private IntegrityReportResponse run(boolean repair) {
+        Instant startedAt = Instant.now();
+        List<ReferenceCheck> checks = List.of(
+                join("scheduleId", "scheduleName", mongoTemplate.getCollectionName(DistributionSchedule.class), repair),
+                join("routeId", "routeName", mongoTemplate.getCollectionName(DistributionRoute.class), repair));
+        if (repair) {
+            referenceIds.reload();
+        }
+        return IntegrityReportResponse.builder()
+                .startedAt(startedAt)
+                .durationMillis(Instant.now().toEpochMilli() - startedAt.toEpochMilli())
+                .repair(repair)
+                .checks(checks)
+                .build();
+    }
+
+    private ReferenceCheck join(String field, String nameField, String parentCollection, boolean repair) {
+        Query programQuery = Query.query(Criteria.where(field).ne(null)).with(Sort.by(field));
+        programQuery.fields().include(field);
+        Query parentQuery = new Query().with(Sort.by("_id"));
+        parentQuery.fields().include("_id");
+
+        Iterator<Document> programs = mongoTemplate
+                .find(programQuery, Document.class, mongoTemplate.getCollectionName(DistributionProgram.class))
+                .toIterable(CURSOR_BATCH).iterator();
+        Iterator<Document> parents = mongoTemplate.find(parentQuery, Document.class, parentCollection)
+                .toIterable(CURSOR_BATCH).iterator();
+
+        int sampleSize = config.getIntegrity().getSampleSize();
+        int repairBatchSize = config.getIntegrity().getRepairBatchSize();
+        List<String> sample = new ArrayList<>();
+        List<Object> pendingRepair = new ArrayList<>(repairBatchSize);
+        long checked = 0;
+        long orphans = 0;
+        long repaired = 0;
+
+        String parent = parents.hasNext() ? parents.next().get("_id").toString() : null;
+        while (programs.hasNext()) {
+            Document program = programs.next();
+            String reference = program.get(field).toString();
+            checked++;
+            while (parent != null && parent.compareTo(reference) < 0) {
+                parent = parents.hasNext() ? parents.next().get("_id").toString() : null;
+            }
+            if (reference.equals(parent)) {
+                continue;
+            }
+            orphans++;
+            if (sample.size() < sampleSize) {
+                sample.add(program.get("_id").toString());
+            }
+            if (repair) {
+                pendingRepair.add(program.get("_id"));
+                if (pendingRepair.size() >= repairBatchSize) {
+                    repaired += detach(pendingRepair, field, nameField);
+                    pendingRepair.clear();
+                }
+            }
+        }
+        if (!pendingRepair.isEmpty()) {
+            repaired += detach(pendingRepair, field, nameField);
+        }
+        return ReferenceCheck.builder()
+                .field(field)
+                .programsChecked(checked)
+                .orphans(orphans)
+                .repaired(repaired)
+                .sampleOrphanProgramIds(sample)
+                .build();
+    }
+
+    private long detach(List<Object> programIds, String field, String nameField) {
+        Query query = Query.query(Criteria.where("_id").in(programIds));
+        Update update = new Update().unset(field).unset(nameField);
+        Long modified = mongoTemplate.updateMulti(query, update, DistributionProgram.class)
+                .map(result -> result.getModifiedCount())
+                .block();
+        return modified != null ? modified : 0;
+    }
+}
@@ -0,0 +1,148 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out.UserAuthClient;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out.UserBatchLoader;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.external.msusers.MsUsersUserInfo;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the display names copied into program documents in sync with their
+ * sources. Changes are queued, coalesced per source inside a short window and
+ * applied as one updateMany per source, off the request path.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProgramReadModelPropagator {
+
+    private static final String ROUTE = "route";
+    private static final String SCHEDULE = "schedule";
+    private static final String USER = "user";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final UserAuthClient userAuthClient;
+    private final UserBatchLoader userLoader;
+    private final DistributionConfig config;
+
+    private Sinks.Many<Change> changes;
+    private Disposable pipeline;
+
+    @PostConstruct
+    void start() {
+        DistributionConfig.ReadModel settings = config.getReadModel();
+        changes = Sinks.many().unicast().onBackpressureBuffer(Queues.<Change>get(settings.getQueueCapacity()).get());
+        pipeline = changes.asFlux()
+                .bufferTimeout(settings.getBatchSize(), Duration.ofMillis(settings.getFlushIntervalMs()))
+                .concatMap(batch -> apply(coalesce(batch))
+                        .onErrorResume(error -> {
+                            log.error("Error propagating program read model batch: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        changes.tryEmitComplete();
+        if (pipeline != null) {
+            pipeline.dispose();
+        }
+    }
+
+    public void routeChanged(DistributionRoute route) {
+        emit(new Change(ROUTE, route.getId(), route.getRouteName()));
+    }
+
+    public void scheduleChanged(DistributionSchedule schedule) {
+        emit(new Change(SCHEDULE, schedule.getId(), schedule.getScheduleName()));
+    }
+
+    /**
+     * Queues a refresh of the user's display name, resolved from MS-USERS when the batch runs
+     */
+    public void userChanged(String userId) {
+        if (userId != null && !userId.isBlank()) {
+            userAuthClient.evictUser(userId);
+            emit(new Change(USER, userId, null));
+        }
+    }
+
+    private void emit(Change change) {
+        if (change.id() == null) {
+            return;
+        }
+        // Writers run on many threads; the lock serializes them instead of spinning on the request thread
+        Sinks.EmitResult result;
+        synchronized (this) {
+            result = changes.tryEmitNext(change);
+        }
+        if (result.isFailure()) {
+            // The queue is memory-only: a dropped change leaves the copied name stale until the next change
+            log.warn("Program read model queue rejected {} change {}: {}", change.kind(), change.id(), result);
+        }
+    }
+
+    private static List<Change> coalesce(List<Change> batch) {
+        Map<String, Change> latest = new LinkedHashMap<>();
+        for (Change change : batch) {
+            latest.put(change.kind() + ":" + change.id(), change);
+        }
+        return List.copyOf(latest.values());
+    }
+
+    private Mono<Void> apply(List<Change> batch) {
+        int concurrency = config.getReadModel().getUserLookupConcurrency();
+        return Flux.fromIterable(batch)
+                .flatMap(change -> switch (change.kind()) {
+                    case ROUTE -> updatePrograms("routeId", change.id(), "routeName", change.name());
+                    case SCHEDULE -> updatePrograms("scheduleId", change.id(), "scheduleName", change.name());
+                    default -> userLoader.load(change.id())
+                            .map(ProgramReadModelPropagator::displayName)
+                            .flatMap(name -> updatePrograms("responsibleUserId", change.id(), "responsibleUserName", name));
+                }, concurrency)
+                .reduce(0L, Long::sum)
+                .doOnNext(modified -> log.debug("Program read model batch of {} changes updated {} programs",
+                        batch.size(), modified))
+                .then();
+    }
+
+    private Mono<Long> updatePrograms(String key, String id, String field, String value) {
+        Query query = Query.query(Criteria.where(key).is(id).and(field).ne(value));
+        return mongoTemplate.updateMulti(query, Update.update(field, value), DistributionProgram.class)
+                .map(result -> result.getModifiedCount());
+    }
+
+    static String displayName(MsUsersUserInfo user) {
+        if (user.getName() != null && !user.getName().isBlank()) {
+            return user.getName();
+        }
+        String fullName = ((user.getFirstName() != null ? user.getFirstName() : "") + " "
+                + (user.getLastName() != null ? user.getLastName() : "")).trim();
+        return fullName.isEmpty() ? user.getUsername() : fullName;
+    }
+
+    private record Change(String kind, String id, String name) {
+    }
+}
@@ -0,0 +1,460 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.services.PublicScheduleService;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CalendarException;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CompiledExceptionCalendar;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.HourOfWeekMask;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.NextWindowResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.PublicScheduleResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionScheduleRepository;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the resident-facing schedule from a per-organization snapshot built
+ * with a single query. Every zone and street view, its entity tag and its
+ * iCalendar feed are derived in memory, so requests never reach Mongo while
+ * the snapshot is valid.
+ */
+@Service
+@Slf4j
+public class PublicScheduleServiceImpl implements PublicScheduleService {
+
+    private static final String ALL_STREETS = "*";
+    private static final String ZONE_WIDE = "";
+    private static final DateTimeFormatter ICS_LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter ICS_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final DistributionScheduleRepository scheduleRepository;
+    private final ExceptionCalendarIndex calendarIndex;
+    private final DistributionConfig config;
+
+    // Bounded and expiring: organization ids come from unauthenticated requests
+    private final AsyncCache<String, OrganizationSnapshot> snapshots;
+    // Organizations without active schedules, which is also what any made-up id looks like
+    private final Cache<String, OrganizationSnapshot> unknownOrganizations;
+
+    public PublicScheduleServiceImpl(DistributionScheduleRepository scheduleRepository,
+                                     ExceptionCalendarIndex calendarIndex, DistributionConfig config) {
+        this.scheduleRepository = scheduleRepository;
+        this.calendarIndex = calendarIndex;
+        this.config = config;
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(config.getPublicApi().getSnapshotTtlSeconds()))
+                .maximumSize(config.getPublicApi().getSnapshotMaxEntries())
+                .buildAsync();
+        this.unknownOrganizations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(config.getPublicApi().getUnknownTtlSeconds()))
+                .maximumSize(config.getPublicApi().getUnknownMaxEntries())
+                .build();
+    }
+
+    @Override
+    public Mono<View<PublicScheduleResponse>> getSchedule(String organizationId, String zoneId, String streetId) {
+        return snapshot(organizationId)
+                .map(snapshot -> {
+                    Area area = snapshot.area(zoneId, streetId);
+                    return new View<>(area.response, area.etag, config.getPublicApi().getMaxAgeSeconds());
+                });
+    }
+
+    @Override
+    public Mono<View<NextWindowResponse>> getNextWindow(String organizationId, String zoneId, String streetId) {
+        return snapshot(organizationId)
+                .map(snapshot -> {
+                    Area area = snapshot.area(zoneId, streetId);
+                    ZonedDateTime now = ZonedDateTime.now(snapshot.zone);
+                    NextWindowResponse next = nextWindow(snapshot, area, zoneId, streetId, now);
+
+                    long maxAge = config.getPublicApi().getMaxAgeSeconds();
+                    String etagSeed = area.etag;
+                    if (next.getStart() != null) {
+                        ZonedDateTime boundary = next.isInProgress()
+                                ? next.getEnd().atZoneSameInstant(snapshot.zone)
+                                : next.getStart().atZoneSameInstant(snapshot.zone);
+                        maxAge = Math.max(1, Math.min(maxAge, Duration.between(now, boundary).getSeconds()));
+                        etagSeed = etagSeed + next.getStart() + next.isInProgress();
+                    }
+                    return new View<>(next, etag(etagSeed), maxAge);
+                });
+    }
+
+    @Override
+    public Mono<View<String>> getCalendar(String organizationId, String zoneId, String streetId) {
+        return snapshot(organizationId)
+                .map(snapshot -> {
+                    Area area = snapshot.area(zoneId, streetId);
+                    LocalDate weekStart = LocalDate.now(snapshot.zone).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                    CalendarView cached = area.calendarView;
+                    // The feed is anchored on the current week, so it is rendered again once the week rolls over
+                    if (cached != null && cached.weekStart.equals(weekStart)) {
+                        return cached.view;
+                    }
+                    String ics = renderCalendar(snapshot, area, zoneId, weekStart);
+                    View<String> view = new View<>(ics, etag(ics), config.getPublicApi().getMaxAgeSeconds());
+                    if (area != snapshot.empty) {
+                        area.calendarView = new CalendarView(weekStart, view);
+                    }
+                    return view;
+                });
+    }
+
+    @Override
+    public void invalidate(String organizationId) {
+        if (organizationId != null) {
+            snapshots.synchronous().invalidate(organizationId);
+            unknownOrganizations.invalidate(organizationId);
+        }
+    }
+
+    private Mono<OrganizationSnapshot> snapshot(String organizationId) {
+        OrganizationSnapshot unknown = unknownOrganizations.getIfPresent(organizationId);
+        if (unknown != null) {
+            return Mono.just(unknown);
+        }
+        // Cancelling one subscriber must not cancel the build shared with the others. Empty
+        // snapshots complete the future with null, which Caffeine drops before it is ever weighed
+        return Mono.fromFuture(() -> snapshots.get(organizationId, (key, executor) -> build(key)
+                        .filter(snapshot -> !snapshot.areas.isEmpty())
+                        .toFuture()), true)
+                .switchIfEmpty(Mono.fromSupplier(() -> unknownOrganizations.get(organizationId,
+                        key -> new OrganizationSnapshot(key, List.of(), CompiledExceptionCalendar.EMPTY, config.zoneId()))));
+    }
+
+    private Mono<OrganizationSnapshot> build(String organizationId) {
+        return Mono.zip(
+                        scheduleRepository.findAllByOrganizationIdAndStatus(organizationId, Constants.ACTIVE.name()).collectList(),
+                        calendarIndex.forOrganization(organizationId))
+                .map(tuple -> new OrganizationSnapshot(organizationId, tuple.getT1(), tuple.getT2(), config.zoneId()))
+                .doOnNext(snapshot -> log.debug("Public schedule snapshot built for organization {} ({} areas)",
+                        organizationId, snapshot.areas.size()))
+                // A failed build completes the future exceptionally, which Caffeine does not keep
+                .doOnError(error -> log.error("Error building public schedule snapshot for organization {}: {}",
+                        organizationId, error.getMessage()));
+    }
+
+    private NextWindowResponse nextWindow(OrganizationSnapshot snapshot, Area area, String zoneId, String streetId,
+                                          ZonedDateTime now) {
+        CompiledExceptionCalendar calendar = snapshot.calendar;
+        LocalDate today = now.toLocalDate();
+        int lookahead = config.getPublicApi().getNextWindowLookaheadDays();
+
+        ZonedDateTime bestStart = null;
+        ZonedDateTime bestEnd = null;
+        Entry bestEntry = null;
+        boolean bestShifted = false;
+
+        // Start one day back so windows crossing midnight are still reported as in progress
+        for (int offset = -1; offset <= lookahead; offset++) {
+            LocalDate date = today.plusDays(offset);
+            if (bestStart != null && bestStart.toLocalDate().isBefore(date)) {
+                break;
+            }
+            if (calendar.isSuspended(zoneId, date)) {
+                continue;
+            }
+            Optional<CalendarException> shift = calendar.shiftFor(zoneId, date);
+            for (Entry entry : area.entries) {
+                if (!entry.days.contains(date.getDayOfWeek())) {
+                    continue;
+                }
+                LocalTime startTime = shift.map(s -> HourOfWeekMask.parseTime(s.getShiftedStartTime())).orElse(entry.start);
+                LocalTime endTime = shift.map(s -> HourOfWeekMask.parseTime(s.getShiftedEndTime())).orElse(entry.end);
+                if (startTime == null || endTime == null) {
+                    continue;
+                }
+                ZonedDateTime start = date.atTime(startTime).atZone(snapshot.zone);
+                ZonedDateTime end = (endTime.isAfter(startTime) ? date : date.plusDays(1)).atTime(endTime).atZone(snapshot.zone);
+                if (!end.isAfter(now)) {
+                    continue;
+                }
+                if (bestStart == null || start.isBefore(bestStart)) {
+                    bestStart = start;
+                    bestEnd = end;
+                    bestEntry = entry;
+                    bestShifted = shift.isPresent();
+                }
+            }
+        }
+
+        NextWindowResponse.NextWindowResponseBuilder builder = NextWindowResponse.builder()
+                .organizationId(snapshot.organizationId)
+                .zoneId(zoneId)
+                .streetId(streetId);
+        if (bestStart == null) {
+            return builder.build();
+        }
+        return builder
+                .scheduleName(bestEntry.name)
+                .start(bestStart.toOffsetDateTime())
+                .end(bestEnd.toOffsetDateTime())
+                .inProgress(!bestStart.isAfter(now))
+                .shifted(bestShifted)
+                .build();
+    }
+
+    private String renderCalendar(OrganizationSnapshot snapshot, Area area, String zoneId, LocalDate weekStart) {
+        String tzid = snapshot.zone.getId();
+        int year = weekStart.getYear();
+        List<LocalDate> suspended = new ArrayList<>(snapshot.calendar.suspendedDates(zoneId, year));
+        suspended.addAll(snapshot.calendar.suspendedDates(zoneId, year + 1));
+
+        StringBuilder ics = new StringBuilder(512)
+                .append("BEGIN:VCALENDAR\r\n")
+                .append("VERSION:2.0\r\n")
+                .append("PRODID:-//JASS Digital//vg-ms-distribution//ES\r\n")
+                .append("CALSCALE:GREGORIAN\r\n")
+                .append("X-WR-TIMEZONE:").append(tzid).append("\r\n");
+        appendTimeZone(ics, snapshot.zone, weekStart);
+
+        for (Entry entry : area.entries) {
+            if (entry.days.isEmpty() || entry.start == null || entry.end == null) {
+                continue;
+            }
+            DayOfWeek firstDay = entry.days.iterator().next();
+            LocalDate anchor = weekStart.with(TemporalAdjusters.nextOrSame(firstDay));
+            LocalDate endDate = entry.end.isAfter(entry.start) ? anchor : anchor.plusDays(1);
+
+            ics.append("BEGIN:VEVENT\r\n")
+                    .append("UID:").append(entry.id).append('-').append(area.key).append("@vg-ms-distribution\r\n")
+                    .append("DTSTAMP:").append(ICS_UTC.format(snapshot.builtAt)).append("\r\n")
+                    .append("DTSTART;TZID=").append(tzid).append(':').append(ICS_LOCAL.format(anchor.atTime(entry.start))).append("\r\n")
+                    .append("DTEND;TZID=").append(tzid).append(':').append(ICS_LOCAL.format(endDate.atTime(entry.end))).append("\r\n")
+                    .append("RRULE:FREQ=WEEKLY;BYDAY=")
+                    .append(entry.days.stream().map(day -> day.name().substring(0, 2)).collect(Collectors.joining(",")))
+                    .append("\r\n");
+            List<String> exdates = suspended.stream()
+                    .filter(date -> entry.days.contains(date.getDayOfWeek()))
+                    .map(date -> ICS_LOCAL.format(date.atTime(entry.start)))
+                    .toList();
+            if (!exdates.isEmpty()) {
+                ics.append("EXDATE;TZID=").append(tzid).append(':').append(String.join(",", exdates)).append("\r\n");
+            }
+            ics.append("SUMMARY:").append(escapeText(entry.name != null ? entry.name : "Distribución de agua")).append("\r\n")
+                    .append("END:VEVENT\r\n");
+        }
+        return ics.append("END:VCALENDAR\r\n").toString();
+    }
+
+    /**
+     * Describes the zone inline so clients without a tz database (or with a different
+     * one) resolve the TZID references the same way. Transitions are listed one by one
+     * for the two years the feed can reach; fixed-offset zones get a single component
+     */
+    private static void appendTimeZone(StringBuilder ics, ZoneId zone, LocalDate weekStart) {
+        ZoneRules rules = zone.getRules();
+        Instant from = weekStart.withDayOfYear(1).atStartOfDay(zone).toInstant();
+        Instant until = weekStart.plusYears(2).withDayOfYear(1).atStartOfDay(zone).toInstant();
+        ZoneOffset initial = rules.getOffset(from);
+
+        ics.append("BEGIN:VTIMEZONE\r\n")
+                .append("TZID:").append(zone.getId()).append("\r\n");
+        appendObservance(ics, "STANDARD", "19700101T000000", initial, initial);
+        ZoneOffsetTransition transition = rules.nextTransition(from);
+        while (transition != null && transition.getInstant().isBefore(until)) {
+            appendObservance(ics, transition.isGap() ? "DAYLIGHT" : "STANDARD",
+                    ICS_LOCAL.format(transition.getDateTimeBefore()), transition.getOffsetBefore(), transition.getOffsetAfter());
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        ics.append("END:VTIMEZONE\r\n");
+    }
+
+    private static void appendObservance(StringBuilder ics, String type, String start, ZoneOffset from, ZoneOffset to) {
+        ics.append("BEGIN:").append(type).append("\r\n")
+                .append("DTSTART:").append(start).append("\r\n")
+                .append("TZOFFSETFROM:").append(icsOffset(from)).append("\r\n")
+                .append("TZOFFSETTO:").append(icsOffset(to)).append("\r\n")
+                .append("END:").append(type).append("\r\n");
+    }
+
+    private static String icsOffset(ZoneOffset offset) {
+        int seconds = offset.getTotalSeconds();
+        int minutes = Math.abs(seconds) / 60;
+        return String.format("%s%02d%02d", seconds < 0 ? "-" : "+", minutes / 60, minutes % 60);
+    }
+
+    private static String escapeText(String value) {
+        return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\n", "\\n");
+    }
+
+    private static String etag(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * All public views of one organization, keyed by zone and street
+     */
+    private static final class OrganizationSnapshot {
+        private final String organizationId;
+        private final CompiledExceptionCalendar calendar;
+        private final ZoneId zone;
+        private final Instant builtAt = Instant.now();
+        private final Map<String, Area> areas = new HashMap<>();
+        private final Area empty;
+
+        private OrganizationSnapshot(String organizationId, List<DistributionSchedule> schedules,
+                                     CompiledExceptionCalendar calendar, ZoneId zone) {
+            this.organizationId = organizationId;
+            this.calendar = calendar;
+            this.zone = zone;
+            this.empty = new Area(zone, organizationId, null, null, List.of());
+
+            Map<String, List<DistributionSchedule>> byZone = schedules.stream()
+                    .filter(schedule -> schedule.getZoneId() != null)
+                    .sorted(Comparator.comparing(DistributionSchedule::getScheduleCode, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.groupingBy(DistributionSchedule::getZoneId));
+
+            byZone.forEach((zoneId, zoneSchedules) -> {
+                List<DistributionSchedule> zoneWide = zoneSchedules.stream()
+                        .filter(schedule -> isBlank(schedule.getStreetId()))
+                        .toList();
+                areas.put(key(zoneId, ALL_STREETS), new Area(zone, organizationId, zoneId, null, zoneSchedules));
+                areas.put(key(zoneId, ZONE_WIDE), new Area(zone, organizationId, zoneId, null, zoneWide));
+
+                zoneSchedules.stream()
+                        .map(DistributionSchedule::getStreetId)
+                        .filter(streetId -> !isBlank(streetId))
+                        .distinct()
+                        .forEach(streetId -> {
+                            List<DistributionSchedule> street = zoneSchedules.stream()
+                                    .filter(schedule -> isBlank(schedule.getStreetId()) || streetId.equals(schedule.getStreetId()))
+                                    .toList();
+                            areas.put(key(zoneId, streetId), new Area(zone, organizationId, zoneId, streetId, street));
+                        });
+            });
+        }
+
+        private Area area(String zoneId, String streetId) {
+            Area area;
+            if (isBlank(streetId)) {
+                area = areas.get(key(zoneId, ALL_STREETS));
+            } else {
+                area = areas.get(key(zoneId, streetId));
+                if (area == null) {
+                    area = areas.get(key(zoneId, ZONE_WIDE));
+                }
+            }
+            // Unknown zones and streets share one empty area so requests cannot grow the snapshot
+            return area != null ? area : empty;
+        }
+
+        private static String key(String zoneId, String streetId) {
+            return zoneId + "|" + (streetId == null ? ZONE_WIDE : streetId);
+        }
+    }
+
+    private static final class Area {
+        private final String key;
+        private final PublicScheduleResponse response;
+        private final String etag;
+        private final List<Entry> entries;
+        private volatile CalendarView calendarView;
+
+        private Area(ZoneId zone, String organizationId, String zoneId, String streetId, List<DistributionSchedule> schedules) {
+            this.key = zoneId + (streetId != null ? "-" + streetId : "");
+            this.entries = schedules.stream().map(Entry::new).toList();
+            this.response = PublicScheduleResponse.builder()
+                    .organizationId(organizationId)
+                    .zoneId(zoneId)
+                    .streetId(streetId)
+                    .timeZone(zone.getId())
+                    .windows(entries.stream().map(Entry::toWindow).toList())
+                    .build();
+            this.etag = etag(organizationId + key + entries.stream()
+                    .map(Entry::fingerprint)
+                    .collect(Collectors.joining(";")));
+        }
+    }
+
+    private record CalendarView(LocalDate weekStart, View<String> view) {
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final String code;
+        private final String name;
+        private final String streetId;
+        private final Set<DayOfWeek> days;
+        private final LocalTime start;
+        private final LocalTime end;
+
+        private Entry(DistributionSchedule schedule) {
+            this.id = schedule.getId();
+            this.code = schedule.getScheduleCode();
+            this.name = schedule.getScheduleName();
+            this.streetId = schedule.getStreetId();
+            EnumSet<DayOfWeek> parsed = EnumSet.noneOf(DayOfWeek.class);
+            if (schedule.getDaysOfWeek() != null) {
+                schedule.getDaysOfWeek().stream()
+                        .map(HourOfWeekMask::parseDay)
+                        .filter(day -> day != null)
+                        .forEach(parsed::add);
+            }
+            this.days = parsed;
+            this.start = HourOfWeekMask.parseTime(schedule.getStartTime());
+            LocalTime parsedEnd = HourOfWeekMask.parseTime(schedule.getEndTime());
+            if (parsedEnd == null && start != null && schedule.getDurationHours() > 0) {
+                parsedEnd = start.plusHours(schedule.getDurationHours());
+            }
+            this.end = parsedEnd;
+        }
+
+        private PublicScheduleResponse.Window toWindow() {
+            return PublicScheduleResponse.Window.builder()
+                    .scheduleCode(code)
+                    .streetId(streetId)
+                    .scheduleName(name)
+                    .daysOfWeek(days.stream().map(DayOfWeek::name).toList())
+                    .startTime(start != null ? start.toString() : null)
+                    .endTime(end != null ? end.toString() : null)
+                    .build();
+        }
+
+        private String fingerprint() {
+            return String.join(",", String.valueOf(code), String.valueOf(name), String.valueOf(streetId),
+                    days.toString(), String.valueOf(start), String.valueOf(end));
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,131 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * In-memory sets of existing schedule and route ids, so program writes can
+ * validate their references without a query. Loaded once with id-only
+ * projections and kept current by schedule and route writes; a miss is
+ * confirmed against the database, since other instances write too.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceIdIndex {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final AtomicReference<Mono<Sets>> sets = new AtomicReference<>();
+
+    public Mono<Boolean> scheduleExists(String scheduleId) {
+        return loaded().flatMap(current -> confirm(current.schedules, scheduleId, DistributionSchedule.class));
+    }
+
+    public Mono<Boolean> routeExists(String routeId) {
+        return loaded().flatMap(current -> confirm(current.routes, routeId, DistributionRoute.class));
+    }
+
+    public void addSchedule(String scheduleId) {
+        apply(current -> current.schedules.add(scheduleId));
+    }
+
+    public void removeSchedule(String scheduleId) {
+        apply(current -> current.schedules.remove(scheduleId));
+    }
+
+    public void addRoute(String routeId) {
+        apply(current -> current.routes.add(routeId));
+    }
+
+    public void removeRoute(String routeId) {
+        apply(current -> current.routes.remove(routeId));
+    }
+
+    /**
+     * Forces a reload on next use, e.g. after an integrity repair
+     */
+    public void reload() {
+        sets.set(null);
+    }
+
+    private void apply(Consumer<Sets> change) {
+        Mono<Sets> current = sets.get();
+        if (current != null) {
+            current.subscribe(change);
+        }
+    }
+
+    /**
+     * A miss may only mean the id was written by another instance after the load,
+     * so it is checked against the collection before the reference is rejected
+     */
+    private Mono<Boolean> confirm(Set<String> ids, String id, Class<?> type) {
+        if (id == null) {
+            return Mono.just(false);
+        }
+        if (ids.contains(id)) {
+            return Mono.just(true);
+        }
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(id)), type)
+                .doOnNext(found -> {
+                    if (found) {
+                        ids.add(id);
+                    }
+                });
+    }
+
+    private Mono<Sets> loaded() {
+        Mono<Sets> current = sets.get();
+        if (current == null) {
+            Mono<Sets> loading = load();
+            current = sets.compareAndSet(null, loading) ? loading : sets.get();
+        }
+        return current;
+    }
+
+    private Mono<Sets> load() {
+        Mono<Set<String>> schedules = ids(mongoTemplate.getCollectionName(DistributionSchedule.class));
+        Mono<Set<String>> routes = ids(mongoTemplate.getCollectionName(DistributionRoute.class));
+        return Mono.zip(schedules, routes)
+                .map(tuple -> new Sets(tuple.getT1(), tuple.getT2()))
+                .doOnNext(loaded -> log.debug("Reference id index loaded ({} schedules, {} routes)",
+                        loaded.schedules.size(), loaded.routes.size()))
+                .doOnError(error -> {
+                    log.error("Error loading reference id index: {}", error.getMessage());
+                    sets.set(null);
+                })
+                .cache();
+    }
+
+    private Mono<Set<String>> ids(String collection) {
+        Query query = new Query();
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, collection)
+                .map(document -> document.get("_id").toString())
+                .collect(ConcurrentHashMap::newKeySet, Set::add);
+    }
+
+    private static final class Sets {
+        private final Set<String> schedules;
+        private final Set<String> routes;
+
+        private Sets(Set<String> schedules, Set<String> routes) {
+            this.schedules = schedules;
+            this.routes = routes;
+        }
+    }
+}
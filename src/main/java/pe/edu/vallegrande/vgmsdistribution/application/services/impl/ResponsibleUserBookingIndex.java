@@ -0,0 +1,411 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.HourOfWeekMask;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ProgramConflictResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionProgramRepository;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionRouteRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory interval index of planned program windows per responsible user.
+ * Each organization is loaded with one program query and one route query on
+ * first use; afterwards every program write updates the index in O(log n)
+ * so conflicts are detected without touching Mongo.
+ *
+ * <p>A program without its own responsible user is booked on the responsible
+ * user of its route. Windows that ended before the lookback horizon are pruned
+ * daily, so past and archived programs do not accumulate.</p>
+ *
+ * <p>The index lives in the memory of each instance and only sees the writes
+ * that instance makes, so it is exact with a single replica. With several
+ * replicas every loaded organization is reloaded from Mongo on
+ * {@code distribution.bookings.refresh-cron}; a conflict created on another
+ * instance is reported once that reload has run.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResponsibleUserBookingIndex {
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final String CANCELLED = "CANCELLED";
+
+    private final DistributionProgramRepository programRepository;
+    private final DistributionRouteRepository routeRepository;
+    private final DistributionConfig config;
+
+    private final Map<String, Mono<OrganizationBookings>> organizations = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes the program, replacing its previous window, and returns the ids of
+     * the programs of the same responsible user that overlap it
+     */
+    public Mono<List<String>> book(DistributionProgram program) {
+        if (program.getOrganizationId() == null || program.getId() == null) {
+            return Mono.just(List.of());
+        }
+        return forOrganization(program.getOrganizationId())
+                .map(bookings -> {
+                    List<String> conflicts = bookings.put(program);
+                    if (!conflicts.isEmpty()) {
+                        log.warn("Program {} overlaps programs {} of the same responsible user",
+                                program.getId(), conflicts);
+                    }
+                    return conflicts;
+                });
+    }
+
+    /**
+     * Removes the program from the index of the organization, if that index is loaded
+     */
+    public Mono<Void> release(String organizationId, String programId) {
+        return loaded(organizationId)
+                .doOnNext(bookings -> bookings.remove(programId))
+                .then();
+    }
+
+    public Mono<Void> onRouteSaved(DistributionRoute route) {
+        return loaded(route.getOrganizationId())
+                .doOnNext(bookings -> bookings.putRoute(route))
+                .then();
+    }
+
+    public Mono<Void> onRouteDeleted(DistributionRoute route) {
+        return loaded(route.getOrganizationId())
+                .doOnNext(bookings -> bookings.removeRoute(route.getId()))
+                .then();
+    }
+
+    /**
+     * Lists every pair of overlapping programs of the organization that share a
+     * responsible user during the seven days starting at {@code weekStart}
+     */
+    public Mono<List<ProgramConflictResponse>> conflicts(String organizationId, LocalDate weekStart) {
+        // Weeks older than the index horizon are swept from a one-off load
+        return forOrganization(organizationId)
+                .flatMap(bookings -> weekStart.minusDays(1).isBefore(bookings.loadedFrom)
+                        ? load(organizationId, weekStart.minusDays(1), weekStart.plusDays(7))
+                        : Mono.just(bookings))
+                .map(bookings -> bookings.conflicts(weekStart));
+    }
+
+    @Scheduled(cron = "${distribution.bookings.prune-cron:0 30 3 * * *}")
+    public void prune() {
+        LocalDate horizon = LocalDate.now(config.zoneId()).minusDays(config.getBookings().getLookbackDays());
+        Flux.fromIterable(organizations.values())
+                .flatMap(bookings -> bookings.onErrorResume(error -> Mono.empty()))
+                .map(bookings -> bookings.prune(horizon))
+                .reduce(0, Integer::sum)
+                .subscribe(
+                        pruned -> log.debug("Pruned {} bookings that ended before {}", pruned, horizon),
+                        error -> log.error("Error pruning booking index: {}", error.getMessage()));
+    }
+
+    /**
+     * Swaps every loaded organization for a fresh load, unless it was dropped or
+     * replaced meanwhile
+     */
+    @Scheduled(cron = "${distribution.bookings.refresh-cron:0 */5 * * * *}")
+    public void refresh() {
+        LocalDate from = LocalDate.now(config.zoneId()).minusDays(config.getBookings().getLookbackDays());
+        Flux.fromIterable(Map.copyOf(organizations).entrySet())
+                .concatMap(entry -> load(entry.getKey(), from, null)
+                        .doOnNext(bookings -> organizations.replace(entry.getKey(), entry.getValue(), Mono.just(bookings)))
+                        .onErrorResume(error -> {
+                            log.error("Error refreshing booking index of organization {}: {}",
+                                    entry.getKey(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .count()
+                .subscribe(refreshed -> log.debug("Refreshed the booking index of {} organizations", refreshed));
+    }
+
+    private Mono<OrganizationBookings> forOrganization(String organizationId) {
+        return organizations.computeIfAbsent(organizationId, this::warmUp);
+    }
+
+    private Mono<OrganizationBookings> loaded(String organizationId) {
+        if (organizationId == null) {
+            return Mono.empty();
+        }
+        Mono<OrganizationBookings> bookings = organizations.get(organizationId);
+        return bookings != null ? bookings : Mono.empty();
+    }
+
+    private Mono<OrganizationBookings> warmUp(String organizationId) {
+        LocalDate from = LocalDate.now(config.zoneId()).minusDays(config.getBookings().getLookbackDays());
+        return load(organizationId, from, null)
+                .doOnNext(bookings -> log.debug("Booking index of organization {} loaded ({} programs)",
+                        organizationId, bookings.byProgram.size()))
+                .doOnError(error -> {
+                    log.error("Error loading booking index of organization {}: {}", organizationId, error.getMessage());
+                    organizations.remove(organizationId);
+                })
+                .cache();
+    }
+
+    private Mono<OrganizationBookings> load(String organizationId, LocalDate from, LocalDate to) {
+        return Mono.zip(
+                        routeRepository.findAllByOrganizationId(organizationId).collectList(),
+                        (to == null
+                                ? programRepository.findAllByOrganizationIdAndProgramDateGreaterThanEqual(organizationId, from)
+                                : programRepository.findAllByOrganizationIdAndProgramDateGreaterThanEqualAndProgramDateLessThan(
+                                        organizationId, from, to))
+                                .collectList())
+                .map(tuple -> {
+                    OrganizationBookings bookings = new OrganizationBookings(from);
+                    tuple.getT1().forEach(bookings::putRoute);
+                    tuple.getT2().forEach(bookings::put);
+                    return bookings;
+                });
+    }
+
+    private static final class OrganizationBookings {
+        private volatile LocalDate loadedFrom;
+        private final Map<String, DistributionRoute> routes = new HashMap<>();
+        private final Map<String, Booking> byProgram = new HashMap<>();
+        private final Map<String, UserBookings> byUser = new HashMap<>();
+
+        private OrganizationBookings(LocalDate loadedFrom) {
+            this.loadedFrom = loadedFrom;
+        }
+
+        private synchronized List<String> put(DistributionProgram program) {
+            remove(program.getId());
+            Booking booking = toBooking(program);
+            if (booking == null || booking.end <= loadedFrom.toEpochDay() * MINUTES_PER_DAY) {
+                return List.of();
+            }
+            byProgram.put(booking.programId, booking);
+            UserBookings user = byUser.computeIfAbsent(booking.userId, k -> new UserBookings());
+            user.add(booking);
+
+            List<String> conflicts = new ArrayList<>();
+            for (Booking other : user.overlapping(booking.start, booking.end)) {
+                if (!other.programId.equals(booking.programId)) {
+                    conflicts.add(other.programId);
+                }
+            }
+            return conflicts;
+        }
+
+        private synchronized void remove(String programId) {
+            Booking booking = byProgram.remove(programId);
+            if (booking == null) {
+                return;
+            }
+            UserBookings user = byUser.get(booking.userId);
+            if (user != null) {
+                user.remove(booking);
+                if (user.isEmpty()) {
+                    byUser.remove(booking.userId);
+                }
+            }
+        }
+
+        /**
+         * Drops the windows that ended before the horizon and moves the index start to it
+         */
+        private synchronized int prune(LocalDate horizon) {
+            if (!horizon.isAfter(loadedFrom)) {
+                return 0;
+            }
+            loadedFrom = horizon;
+            long cutoff = horizon.toEpochDay() * MINUTES_PER_DAY;
+            List<String> expired = new ArrayList<>();
+            for (Booking booking : byProgram.values()) {
+                if (booking.end <= cutoff) {
+                    expired.add(booking.programId);
+                }
+            }
+            expired.forEach(this::remove);
+            return expired.size();
+        }
+
+        private synchronized void putRoute(DistributionRoute route) {
+            routes.put(route.getId(), route);
+            rebookRoute(route.getId());
+        }
+
+        private synchronized void removeRoute(String routeId) {
+            routes.remove(routeId);
+            rebookRoute(routeId);
+        }
+
+        /**
+         * Programs that inherit their responsible user or duration from the route move with it
+         */
+        private void rebookRoute(String routeId) {
+            List<DistributionProgram> affected = new ArrayList<>();
+            for (Booking booking : byProgram.values()) {
+                if (routeId.equals(booking.program.getRouteId())) {
+                    affected.add(booking.program);
+                }
+            }
+            affected.forEach(this::put);
+        }
+
+        private synchronized List<ProgramConflictResponse> conflicts(LocalDate weekStart) {
+            long from = weekStart.toEpochDay() * MINUTES_PER_DAY;
+            long to = from + 7 * MINUTES_PER_DAY;
+            List<ProgramConflictResponse> result = new ArrayList<>();
+
+            for (Map.Entry<String, UserBookings> entry : byUser.entrySet()) {
+                // Sweep the user's windows in start order keeping the ones still open
+                List<Booking> open = new ArrayList<>();
+                for (Booking booking : entry.getValue().startingBetween(from - entry.getValue().maxLength, to)) {
+                    open.removeIf(other -> other.end <= booking.start);
+                    for (Booking other : open) {
+                        long overlapStart = Math.max(other.start, booking.start);
+                        long overlapEnd = Math.min(other.end, booking.end);
+                        if (overlapEnd > from && overlapStart < to) {
+                            result.add(ProgramConflictResponse.builder()
+                                    .responsibleUserId(entry.getKey())
+                                    .programDate(LocalDate.ofEpochDay(Math.floorDiv(overlapStart, MINUTES_PER_DAY)))
+                                    .programId(other.programId)
+                                    .programCode(other.program.getProgramCode())
+                                    .conflictingProgramId(booking.programId)
+                                    .conflictingProgramCode(booking.program.getProgramCode())
+                                    .overlapStart(clock(overlapStart))
+                                    .overlapEnd(clock(overlapEnd))
+                                    .overlapMinutes(overlapEnd - overlapStart)
+                                    .build());
+                        }
+                    }
+                    open.add(booking);
+                }
+            }
+            result.sort(Comparator.comparing(ProgramConflictResponse::getProgramDate)
+                    .thenComparing(ProgramConflictResponse::getOverlapStart)
+                    .thenComparing(ProgramConflictResponse::getResponsibleUserId));
+            return result;
+        }
+
+        private Booking toBooking(DistributionProgram program) {
+            if (program.getProgramDate() == null
+                    || CANCELLED.equals(program.getStatus())
+                    || Constants.INACTIVE.name().equals(program.getStatus())) {
+                return null;
+            }
+            DistributionRoute route = program.getRouteId() != null ? routes.get(program.getRouteId()) : null;
+            String userId = program.getResponsibleUserId();
+            if ((userId == null || userId.isBlank()) && route != null) {
+                userId = route.getResponsibleUserId();
+            }
+            if (userId == null || userId.isBlank()) {
+                return null;
+            }
+
+            LocalTime startTime = HourOfWeekMask.parseTime(program.getPlannedStartTime());
+            if (startTime == null) {
+                return null;
+            }
+            long start = program.getProgramDate().toEpochDay() * MINUTES_PER_DAY
+                    + startTime.getHour() * 60L + startTime.getMinute();
+            long end;
+            LocalTime endTime = HourOfWeekMask.parseTime(program.getPlannedEndTime());
+            if (endTime != null) {
+                end = program.getProgramDate().toEpochDay() * MINUTES_PER_DAY
+                        + endTime.getHour() * 60L + endTime.getMinute();
+                if (end <= start) {
+                    end += MINUTES_PER_DAY;
+                }
+            } else if (route != null && route.getTotalEstimatedDuration() > 0) {
+                end = start + route.getTotalEstimatedDuration() * 60L;
+            } else {
+                return null;
+            }
+            return new Booking(program, userId, start, end);
+        }
+
+        private static String clock(long epochMinute) {
+            return LocalTime.ofSecondOfDay(Math.floorMod(epochMinute, MINUTES_PER_DAY) * 60).toString();
+        }
+    }
+
+    /**
+     * Windows of one user ordered by start; remembering the longest window bounds
+     * how far back an overlap search has to look.
+     */
+    private static final class UserBookings {
+        private static final Comparator<Booking> ORDER = Comparator
+                .comparingLong((Booking b) -> b.start)
+                .thenComparing(b -> b.programId);
+
+        private final TreeSet<Booking> windows = new TreeSet<>(ORDER);
+        private long maxLength;
+
+        private void add(Booking booking) {
+            windows.add(booking);
+            maxLength = Math.max(maxLength, booking.end - booking.start);
+        }
+
+        private void remove(Booking booking) {
+            windows.remove(booking);
+        }
+
+        private boolean isEmpty() {
+            return windows.isEmpty();
+        }
+
+        private NavigableSet<Booking> startingBetween(long fromInclusive, long toExclusive) {
+            return windows.subSet(Booking.probe(fromInclusive), true, Booking.probe(toExclusive), false);
+        }
+
+        private List<Booking> overlapping(long start, long end) {
+            List<Booking> result = new ArrayList<>();
+            Iterator<Booking> candidates = startingBetween(start - maxLength, end).iterator();
+            while (candidates.hasNext()) {
+                Booking candidate = candidates.next();
+                if (candidate.end > start) {
+                    result.add(candidate);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Booking {
+        private final DistributionProgram program;
+        private final String programId;
+        private final String userId;
+        private final long start;
+        private final long end;
+
+        private Booking(DistributionProgram program, String userId, long start, long end) {
+            this.program = program;
+            this.programId = program != null ? program.getId() : "";
+            this.userId = userId;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Sorts before every real booking starting at the same minute
+         */
+        private static Booking probe(long start) {
+            return new Booking(null, null, start, start);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.ProgramStatus;
+import pe.edu.vallegrande.vgmsdistribution.domain.events.ProgramCompletedEvent;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.P2Quantile;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DurationEstimateResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estadísticas acumuladas de la duración real de los programas por ruta y por
+ * zona, junto a la estimación escrita en la ruta. Cada cierre actualiza en tiempo
+ * constante la media y la varianza de Welford y la mediana y el p90 P². Al
+ * arrancar el modelo se siembra una vez con los programas completados recientes;
+ * las peticiones solo lo leen
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RouteDurationEstimator {
+
+    private static final String ROUTE = "ROUTE";
+    private static final String ZONE = "ZONE";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final DistributionConfig config;
+
+    private final Map<String, DurationStats> stats = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int lookbackDays = config.getDurationEstimates().getWarmUpDays();
+        if (lookbackDays <= 0) {
+            return;
+        }
+        // Los programas cerrados automáticamente quedan marcados overdue y llevan el fin planificado, no uno medido
+        Query query = Query.query(Criteria.where("status").is(ProgramStatus.COMPLETED.name())
+                // programDate y no plannedEndAt, para incluir también los programas anteriores a ese campo
+                .and("programDate").gte(LocalDate.now(config.zoneId()).minusDays(lookbackDays))
+                .and("overdue").ne(true));
+        query.fields().include("organizationId", "routeId", "zoneId", "actualStartTime", "actualEndTime");
+        mongoTemplate.find(query, DistributionProgram.class)
+                .doOnNext(this::observe)
+                .count()
+                .subscribe(
+                        count -> log.info("Seeded duration estimates from {} completed programs", count),
+                        error -> log.error("Error seeding duration estimates: {}", error.getMessage()));
+    }
+
+    @EventListener
+    public void onProgramCompleted(ProgramCompletedEvent event) {
+        observe(event.program());
+    }
+
+    /**
+     * Estimación aprendida de una ruta, o null mientras no tenga el mínimo de muestras configurado
+     */
+    public DurationEstimateResponse forRoute(String organizationId, String routeId) {
+        DurationStats route = stats.get(key(organizationId, ROUTE, routeId));
+        if (route == null) {
+            return null;
+        }
+        DurationEstimateResponse estimate = route.toResponse();
+        return estimate.getSamples() >= config.getDurationEstimates().getMinSamples() ? estimate : null;
+    }
+
+    public List<DurationEstimateResponse> forOrganization(String organizationId) {
+        return stats.values().stream()
+                .filter(scope -> scope.organizationId.equals(organizationId))
+                .map(DurationStats::toResponse)
+                .toList();
+    }
+
+    private void observe(DistributionProgram program) {
+        Integer minutes = DelayAnalyticsServiceImpl.spanMinutes(program.getActualStartTime(), program.getActualEndTime());
+        if (minutes == null || program.getOrganizationId() == null) {
+            return;
+        }
+        if (program.getRouteId() != null) {
+            stats.computeIfAbsent(key(program.getOrganizationId(), ROUTE, program.getRouteId()),
+                            k -> new DurationStats(program.getOrganizationId(), ROUTE, program.getRouteId()))
+                    .add(minutes);
+        }
+        if (program.getZoneId() != null) {
+            stats.computeIfAbsent(key(program.getOrganizationId(), ZONE, program.getZoneId()),
+                            k -> new DurationStats(program.getOrganizationId(), ZONE, program.getZoneId()))
+                    .add(minutes);
+        }
+    }
+
+    private static String key(String organizationId, String scope, String scopeId) {
+        return organizationId + "|" + scope + "|" + scopeId;
+    }
+
+    private static final class DurationStats {
+        private final String organizationId;
+        private final String scope;
+        private final String scopeId;
+        private final P2Quantile p50 = new P2Quantile(0.5);
+        private final P2Quantile p90 = new P2Quantile(0.9);
+        private long count;
+        private double mean;
+        private double squaredDeviations;
+
+        private DurationStats(String organizationId, String scope, String scopeId) {
+            this.organizationId = organizationId;
+            this.scope = scope;
+            this.scopeId = scopeId;
+        }
+
+        private synchronized void add(double minutes) {
+            count++;
+            double delta = minutes - mean;
+            mean += delta / count;
+            squaredDeviations += delta * (minutes - mean);
+            p50.add(minutes);
+            p90.add(minutes);
+        }
+
+        private synchronized DurationEstimateResponse toResponse() {
+            return DurationEstimateResponse.builder()
+                    .organizationId(organizationId)
+                    .scope(scope)
+                    .scopeId(scopeId)
+                    .samples(count)
+                    .meanMinutes(mean)
+                    .stdDevMinutes(count > 1 ? Math.sqrt(squaredDeviations / (count - 1)) : 0)
+                    .p50Minutes(p50.value())
+                    .p90Minutes(p90.value())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.services.TelemetryService;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.TelemetryDeadLetter;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.TelemetryReading;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.TelemetryRollup;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.TelemetryReadingRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.TelemetryIngestResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.TelemetryRollupRepository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recibe lecturas de dispositivos sin bloquear el event loop. Cada petición valida
+ * sus líneas NDJSON, las corta en lotes y los ofrece a una cola acotada; mientras
+ * está llena deja de leer el cuerpo hasta que se libere un hueco, así la memoria
+ * no crece con la carga. Si la cola sigue llena pasado el tiempo de espera, la
+ * petición responde con lo aceptado hasta ahí y la línea desde la que reenviar.
+ * Un único escritor en segundo plano vacía la cola con insertMany en la colección
+ * time-series y acumula cada lectura guardada en agregados por minuto y por hora,
+ * que se escriben con un retardo fijo corto. Los lotes que siguen fallando tras
+ * los reintentos van a una colección de descartes, y el apagado vacía la cola y
+ * los agregados pendientes antes de terminar
+ */
+@Service
+@Slf4j
+public class TelemetryServiceImpl implements TelemetryService {
+
+    private static final String MINUTE = "MINUTE";
+    private static final String HOUR = "HOUR";
+    private static final Duration ENQUEUE_RETRY_DELAY = Duration.ofMillis(20);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TelemetryRollupRepository rollupRepository;
+    private final DistributionConfig config;
+
+    private final Sinks.Many<List<TelemetryReading>> batches;
+    private final Map<String, RollupBucket> pendingRollups = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private Disposable writer;
+
+    public TelemetryServiceImpl(ReactiveMongoTemplate mongoTemplate, TelemetryRollupRepository rollupRepository,
+                                DistributionConfig config) {
+        this.mongoTemplate = mongoTemplate;
+        this.rollupRepository = rollupRepository;
+        this.config = config;
+        this.batches = Sinks.many().unicast().onBackpressureBuffer(
+                Queues.<List<TelemetryReading>>get(config.getTelemetry().getBufferBatches()).get());
+    }
+
+    @PostConstruct
+    void start() {
+        int concurrency = config.getTelemetry().getWriterConcurrency();
+        // La colección debe existir como time-series antes de que el primer insert cree una normal
+        writer = ensureTimeSeriesCollection()
+                .thenMany(batches.asFlux())
+                .flatMap(this::write, concurrency, 1)
+                .doFinally(signal -> drained.countDown())
+                .subscribe();
+    }
+
+    /**
+     * Deja de aceptar lecturas, espera a que el escritor guarde lo encolado y
+     * escribe los agregados pendientes, cada paso dentro del tiempo de apagado
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        Duration timeout = Duration.ofMillis(config.getTelemetry().getShutdownTimeoutMs());
+        synchronized (batches) {
+            batches.tryEmitComplete();
+        }
+        if (writer != null && !drained.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Telemetry writer did not drain within {} ms; discarding queued readings", timeout.toMillis());
+            writer.dispose();
+        }
+        try {
+            flush().block(timeout);
+        } catch (RuntimeException ex) {
+            log.error("Error flushing telemetry rollups on shutdown: {}", ex.getMessage());
+        }
+        if (!pendingRollups.isEmpty()) {
+            log.warn("{} telemetry rollups could not be written before shutdown", pendingRollups.size());
+        }
+    }
+
+    @Override
+    public Mono<TelemetryIngestResponse> ingest(Flux<TelemetryReadingRequest> readings) {
+        DistributionConfig.Telemetry settings = config.getTelemetry();
+        AtomicLong lines = new AtomicLong();
+        Tally tally = new Tally(settings.getMaxReportedErrors());
+        Instant receivedAt = Instant.now();
+
+        // Las líneas inválidas viajan en los lotes para contarlas solo cuando su lote se confirma
+        return readings
+                .map(request -> {
+                    long line = lines.incrementAndGet();
+                    String error = validate(request);
+                    return new Line(line, error == null ? toReading(request, receivedAt) : null, error);
+                })
+                .bufferTimeout(settings.getBatchSize(), Duration.ofMillis(settings.getBatchTimeoutMs()), true)
+                .concatMap(batch -> {
+                    List<TelemetryReading> valid = batch.stream()
+                            .map(Line::reading)
+                            .filter(Objects::nonNull)
+                            .toList();
+                    return (valid.isEmpty() ? Mono.<Void>empty() : enqueue(valid))
+                            .doOnSuccess(done -> tally.commit(batch))
+                            .doOnError(BufferFullException.class, full -> tally.stopAt(batch.get(0).number()));
+                })
+                // Cortar aquí cancela la lectura del resto del cuerpo
+                .onErrorResume(BufferFullException.class, full -> {
+                    log.warn("Telemetry queue full; accepted {} readings, client must resend from line {}",
+                            tally.accepted, tally.retryFromLine);
+                    return Mono.empty();
+                })
+                .then(Mono.fromSupplier(() -> tally.toResponse(settings.getOverflowRetryAfterSeconds())));
+    }
+
+    @Override
+    public Flux<TelemetryRollup> getRollups(String deviceId, String granularity, Instant from, Instant to) {
+        if (!MINUTE.equals(granularity) && !HOUR.equals(granularity)) {
+            return Flux.error(CustomException.badRequest("Invalid granularity", "granularity must be MINUTE or HOUR"));
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(1, MINUTE.equals(granularity) ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+        return rollupRepository.findAllByDeviceIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+                deviceId, granularity, start, end);
+    }
+
+    /**
+     * Escribe los agregados acumulados desde la pasada anterior. Un agregado que
+     * falla se vuelve a sumar a los pendientes y se reintenta en la siguiente
+     */
+    @Scheduled(fixedDelayString = "${distribution.telemetry.rollup-flush-ms:5000}")
+    public void flushRollups() {
+        if (pendingRollups.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        flush()
+                .doFinally(signal -> flushing.set(false))
+                .subscribe(
+                        flushed -> log.debug("Flushed {} telemetry rollups", flushed),
+                        error -> log.error("Error flushing telemetry rollups: {}", error.getMessage()));
+    }
+
+    private Mono<Long> flush() {
+        return Flux.fromIterable(List.copyOf(pendingRollups.keySet()))
+                .mapNotNull(pendingRollups::remove)
+                .flatMap(bucket -> upsert(bucket)
+                        .onErrorResume(error -> {
+                            pendingRollups.merge(bucket.id, bucket, RollupBucket::merge);
+                            log.warn("Error flushing telemetry rollup {}: {}", bucket.id, error.getMessage());
+                            return Mono.empty();
+                        }), 8)
+                .count();
+    }
+
+    private Mono<Void> ensureTimeSeriesCollection() {
+        return mongoTemplate.collectionExists(TelemetryReading.class)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : mongoTemplate.createCollection(TelemetryReading.class)
+                                .doOnNext(created -> log.info("Created time-series collection telemetry_readings"))
+                                .then())
+                .onErrorResume(error -> {
+                    log.error("Error creating telemetry time-series collection: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Ofrece el lote a la cola del escritor, reintentando con un temporizador
+     * mientras está llena. Falla con {@link BufferFullException} cuando pasa el
+     * tiempo de espera configurado
+     */
+    private Mono<Void> enqueue(List<TelemetryReading> batch) {
+        long attempts = Math.max(1, config.getTelemetry().getEnqueueTimeoutMs() / ENQUEUE_RETRY_DELAY.toMillis());
+        return Mono.<Void>defer(() -> {
+                    Sinks.EmitResult result;
+                    // Las peticiones concurrentes se turnan, así que el único rechazo a reintentar es la cola llena
+                    synchronized (batches) {
+                        result = batches.tryEmitNext(batch);
+                    }
+                    if (result.isSuccess()) {
+                        return Mono.empty();
+                    }
+                    if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                        return Mono.error(new BufferFullException());
+                    }
+                    return Mono.error(new IllegalStateException("Telemetry writer is not accepting readings: " + result));
+                })
+                .retryWhen(Retry.fixedDelay(attempts, ENQUEUE_RETRY_DELAY)
+                        .filter(BufferFullException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Guarda un lote reintentando con espera creciente. Un reintento tras un insert
+     * parcial puede guardar algunas lecturas dos veces; los agregados solo se
+     * acumulan cuando el insert termina bien
+     */
+    private Mono<Void> write(List<TelemetryReading> batch) {
+        DistributionConfig.Telemetry settings = config.getTelemetry();
+        return Mono.defer(() -> mongoTemplate.insert(batch, TelemetryReading.class).then())
+                .retryWhen(Retry.backoff(settings.getWriteRetries(), Duration.ofMillis(settings.getWriteRetryBackoffMs()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .then(Mono.fromRunnable(() -> batch.forEach(this::accumulate)))
+                .then()
+                .onErrorResume(error -> deadLetter(batch, error));
+    }
+
+    private Mono<Void> deadLetter(List<TelemetryReading> batch, Throwable error) {
+        log.error("Error storing {} telemetry readings, moving them to the dead-letter collection: {}",
+                batch.size(), error.getMessage());
+        TelemetryDeadLetter deadLetter = TelemetryDeadLetter.builder()
+                .failedAt(Instant.now())
+                .error(error.getMessage())
+                .readings(batch)
+                .build();
+        return mongoTemplate.insert(deadLetter)
+                .then()
+                .onErrorResume(deadLetterError -> {
+                    log.error("Lost {} telemetry readings, dead-letter write failed: {}",
+                            batch.size(), deadLetterError.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void accumulate(TelemetryReading reading) {
+        accumulate(reading, MINUTE, reading.getTimestamp().truncatedTo(ChronoUnit.MINUTES));
+        accumulate(reading, HOUR, reading.getTimestamp().truncatedTo(ChronoUnit.HOURS));
+    }
+
+    private void accumulate(TelemetryReading reading, String granularity, Instant bucketStart) {
+        TelemetryReading.Source source = reading.getSource();
+        String id = granularity + "|" + source.getDeviceId() + "|" + source.getKind() + "|" + bucketStart.toEpochMilli();
+        // compute corre bajo el bloqueo del mapa para la clave, así una escritura concurrente no pierde valores
+        pendingRollups.compute(id, (key, bucket) -> {
+            RollupBucket target = bucket != null ? bucket : new RollupBucket(key, source, granularity, bucketStart);
+            target.add(reading.getValue());
+            return target;
+        });
+    }
+
+    private Mono<Void> upsert(RollupBucket bucket) {
+        Update update = new Update()
+                .setOnInsert("organizationId", bucket.source.getOrganizationId())
+                .setOnInsert("deviceId", bucket.source.getDeviceId())
+                .setOnInsert("kind", bucket.source.getKind())
+                .setOnInsert("programId", bucket.source.getProgramId())
+                .setOnInsert("zoneId", bucket.source.getZoneId())
+                .setOnInsert("granularity", bucket.granularity)
+                .setOnInsert("bucketStart", bucket.bucketStart)
+                .inc("count", bucket.count)
+                .inc("sum", bucket.sum)
+                .min("min", bucket.min)
+                .max("max", bucket.max);
+        return mongoTemplate.upsert(Query.query(Criteria.where("_id").is(bucket.id)), update, TelemetryRollup.class)
+                .then();
+    }
+
+    private static String validate(TelemetryReadingRequest request) {
+        if (request.getOrganizationId() == null || request.getOrganizationId().isBlank()) {
+            return "organizationId is required";
+        }
+        if (request.getDeviceId() == null || request.getDeviceId().isBlank()) {
+            return "deviceId is required";
+        }
+        if (request.getKind() == null || request.getKind().isBlank()) {
+            return "kind is required";
+        }
+        if (request.getValue() == null || request.getValue().isNaN() || request.getValue().isInfinite()) {
+            return "value must be a finite number";
+        }
+        if (request.getProgramId() == null && request.getZoneId() == null) {
+            return "programId or zoneId is required";
+        }
+        return null;
+    }
+
+    private static TelemetryReading toReading(TelemetryReadingRequest request, Instant receivedAt) {
+        return TelemetryReading.builder()
+                .timestamp(request.getTimestamp() != null ? request.getTimestamp() : receivedAt)
+                .source(TelemetryReading.Source.builder()
+                        .organizationId(request.getOrganizationId())
+                        .deviceId(request.getDeviceId())
+                        .kind(request.getKind())
+                        .programId(request.getProgramId())
+                        .zoneId(request.getZoneId())
+                        .build())
+                .value(request.getValue())
+                .unit(request.getUnit())
+                .build();
+    }
+
+    private static final class RollupBucket {
+        private final String id;
+        private final TelemetryReading.Source source;
+        private final String granularity;
+        private final Instant bucketStart;
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        private RollupBucket(String id, TelemetryReading.Source source, String granularity, Instant bucketStart) {
+            this.id = id;
+            this.source = source;
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+        }
+
+        private void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        private RollupBucket merge(RollupBucket other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+    }
+
+    private record Line(long number, TelemetryReading reading, String error) {
+    }
+
+    /**
+     * Resultado de una petición, sumado lote a lote en orden; solo lo toca la cadena de esa petición
+     */
+    private static final class Tally {
+        private final int maxErrors;
+        private final List<String> errors = new ArrayList<>();
+        private long accepted;
+        private long rejected;
+        private Long retryFromLine;
+
+        private Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void commit(List<Line> batch) {
+            for (Line line : batch) {
+                if (line.reading() != null) {
+                    accepted++;
+                    continue;
+                }
+                rejected++;
+                if (errors.size() < maxErrors) {
+                    errors.add("line " + line.number() + ": " + line.error());
+                }
+            }
+        }
+
+        private void stopAt(long line) {
+            retryFromLine = line;
+        }
+
+        private TelemetryIngestResponse toResponse(int retryAfterSeconds) {
+            return TelemetryIngestResponse.builder()
+                    .accepted(accepted)
+                    .rejected(rejected)
+                    .errors(errors)
+                    .retryFromLine(retryFromLine)
+                    .retryAfterSeconds(retryFromLine != null ? retryAfterSeconds : null)
+                    .build();
+        }
+    }
+
+    private static final class BufferFullException extends RuntimeException {
+        private BufferFullException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.vgmsdistribution.application.services.ZoneCoverageService;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.Constants;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.HourOfWeekMask;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ZoneCoverageResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ZoneCoverageResponse.AreaCoverage;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ZoneCoverageResponse.CoverageWindow;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionScheduleRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds zone x hour-of-week coverage bitsets from the active schedules of an
+ * organization. Results are cached per organization until a schedule of that
+ * organization is written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ZoneCoverageServiceImpl implements ZoneCoverageService {
+
+    private final DistributionScheduleRepository scheduleRepository;
+
+    private final Map<String, Mono<ZoneCoverageResponse>> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<ZoneCoverageResponse> getCoverage(String organizationId) {
+        return cache.computeIfAbsent(organizationId, this::compute);
+    }
+
+    @Override
+    public void invalidate(String organizationId) {
+        if (organizationId != null) {
+            cache.remove(organizationId);
+        }
+    }
+
+    private Mono<ZoneCoverageResponse> compute(String organizationId) {
+        return scheduleRepository.findAllByOrganizationIdAndStatus(organizationId, Constants.ACTIVE.name())
+                .collectList()
+                .map(schedules -> build(organizationId, schedules))
+                .doOnError(error -> {
+                    log.error("Error computing coverage for organization {}: {}", organizationId, error.getMessage());
+                    cache.remove(organizationId);
+                })
+                .cache();
+    }
+
+    private ZoneCoverageResponse build(String organizationId, List<DistributionSchedule> schedules) {
+        long started = System.nanoTime();
+
+        // Accumulators per zone and per street: [union, overlap] plus schedule counts
+        Map<String, Accumulator> zones = new LinkedHashMap<>();
+        Map<String, Accumulator> zoneWide = new LinkedHashMap<>();
+        Map<String, Accumulator> streets = new LinkedHashMap<>();
+
+        for (DistributionSchedule schedule : schedules) {
+            if (schedule.getZoneId() == null) {
+                continue;
+            }
+            HourOfWeekMask mask = HourOfWeekMask.of(schedule);
+            zones.computeIfAbsent(schedule.getZoneId(), k -> new Accumulator(k, null)).add(mask);
+            if (schedule.getStreetId() == null || schedule.getStreetId().isBlank()) {
+                zoneWide.computeIfAbsent(schedule.getZoneId(), k -> new Accumulator(k, null)).add(mask);
+            } else {
+                streets.computeIfAbsent(schedule.getZoneId() + "|" + schedule.getStreetId(),
+                        k -> new Accumulator(schedule.getZoneId(), schedule.getStreetId())).add(mask);
+            }
+        }
+
+        List<AreaCoverage> zoneCoverage = new ArrayList<>(zones.size());
+        zones.values().forEach(acc -> zoneCoverage.add(acc.toCoverage()));
+
+        // Streets are also served by the schedules that target their whole zone
+        List<AreaCoverage> streetCoverage = new ArrayList<>(streets.size());
+        streets.values().forEach(acc -> {
+            Accumulator inherited = zoneWide.get(acc.zoneId);
+            if (inherited != null) {
+                acc.merge(inherited);
+            }
+            streetCoverage.add(acc.toCoverage());
+        });
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.debug("Coverage for organization {} computed in {} ms ({} schedules, {} zones, {} streets)",
+                organizationId, elapsedMillis, schedules.size(), zoneCoverage.size(), streetCoverage.size());
+
+        return ZoneCoverageResponse.builder()
+                .organizationId(organizationId)
+                .zones(zoneCoverage)
+                .streets(streetCoverage)
+                .computedAt(Instant.now())
+                .computeMillis(elapsedMillis)
+                .build();
+    }
+
+    private static final class Accumulator {
+        private final String zoneId;
+        private final String streetId;
+        private HourOfWeekMask union = HourOfWeekMask.EMPTY;
+        private HourOfWeekMask overlap = HourOfWeekMask.EMPTY;
+        private int scheduleCount;
+
+        private Accumulator(String zoneId, String streetId) {
+            this.zoneId = zoneId;
+            this.streetId = streetId;
+        }
+
+        private void add(HourOfWeekMask mask) {
+            overlap = overlap.or(union.and(mask));
+            union = union.or(mask);
+            scheduleCount++;
+        }
+
+        private void merge(Accumulator other) {
+            overlap = overlap.or(other.overlap).or(union.and(other.union));
+            union = union.or(other.union);
+            scheduleCount += other.scheduleCount;
+        }
+
+        private AreaCoverage toCoverage() {
+            HourOfWeekMask gaps = union.not();
+            return AreaCoverage.builder()
+                    .zoneId(zoneId)
+                    .streetId(streetId)
+                    .scheduleCount(scheduleCount)
+                    .coveredHours(union.cardinality())
+                    .uncoveredHours(gaps.cardinality())
+                    .overlapHours(overlap.cardinality())
+                    .gaps(toWindows(gaps))
+                    .overlaps(toWindows(overlap))
+                    .build();
+        }
+    }
+
+    private static List<CoverageWindow> toWindows(HourOfWeekMask mask) {
+        List<CoverageWindow> windows = new ArrayList<>();
+        for (int[] run : mask.runs()) {
+            windows.add(CoverageWindow.builder()
+                    .fromDay(DayOfWeek.of(run[0] / 24 + 1).name())
+                    .fromHour(run[0] % 24)
+                    .toDay(DayOfWeek.of(((run[1] - 1) / 24) + 1).name())
+                    .toHour(((run[1] - 1) % 24) + 1)
+                    .hours(run[1] - run[0])
+                    .build());
+        }
+        return windows;
+    }
+}
@@ -0,0 +1,6 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.enums;
+
+public enum CalendarExceptionType {
+    SUSPENDED,
+    SHIFTED
+}
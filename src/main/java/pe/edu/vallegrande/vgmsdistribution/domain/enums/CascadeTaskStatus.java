@@ -0,0 +1,8 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.enums;
+
+public enum CascadeTaskStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,37 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.enums;
+
+import java.util.List;
+
+/**
+ * Lifecycle of a distribution program: PLANNED -> IN_PROGRESS -> COMPLETED,
+ * with CANCELLED reachable from any state that is not yet final
+ */
+public enum ProgramStatus {
+    PLANNED,
+    IN_PROGRESS,
+    COMPLETED,
+    CANCELLED;
+
+    /**
+     * Status written by the legacy activate endpoint; such programs behave as PLANNED
+     */
+    public static final String LEGACY_ACTIVE = "ACTIVE";
+
+    /**
+     * States the legacy activate and deactivate endpoints may move a program between;
+     * started and final programs are left to the transitions above
+     */
+    public static final List<String> TOGGLEABLE = List.of(PLANNED.name(), LEGACY_ACTIVE, Constants.INACTIVE.name());
+
+    /**
+     * States from which a program may move into this one
+     */
+    public List<String> allowedSources() {
+        return switch (this) {
+            case PLANNED -> List.of();
+            case IN_PROGRESS -> List.of(PLANNED.name(), LEGACY_ACTIVE);
+            case COMPLETED -> List.of(IN_PROGRESS.name());
+            case CANCELLED -> List.of(PLANNED.name(), LEGACY_ACTIVE, IN_PROGRESS.name());
+        };
+    }
+}
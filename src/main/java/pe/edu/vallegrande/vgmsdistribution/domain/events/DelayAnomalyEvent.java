@@ -0,0 +1,13 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.events;
+
+import java.time.Instant;
+
+/**
+ * Raised when the smoothed delay of a route or zone crosses its configured threshold
+ *
+ * @param scope  ROUTE or ZONE
+ * @param metric START_DELAY or DURATION_OVERRUN, in minutes
+ */
+public record DelayAnomalyEvent(String organizationId, String scope, String scopeId, String metric,
+                                double ewma, double p90, double threshold, long samples, Instant detectedAt) {
+}
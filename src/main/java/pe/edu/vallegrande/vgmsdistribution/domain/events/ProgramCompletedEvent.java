@@ -0,0 +1,9 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.events;
+
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+
+/**
+ * Published after a program was moved to COMPLETED by an operator, alone or in a batch
+ */
+public record ProgramCompletedEvent(DistributionProgram program) {
+}
@@ -0,0 +1,31 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "calendar_exceptions")
+public class CalendarException {
+
+    @Id
+    private String id;
+    private String organizationId;
+    private String zoneId;            // null = applies to the whole organization
+    private LocalDate exceptionDate;
+    private String exceptionType;     // SUSPENDED, SHIFTED
+    private String shiftedStartTime;  // HH:mm, only for SHIFTED
+    private String shiftedEndTime;    // HH:mm, only for SHIFTED
+    private String reason;
+    private String status;
+    private Instant createdAt;
+}
@@ -0,0 +1,44 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Durable record of the program cleanup owed after a route or schedule was deleted
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "cascade_tasks")
+@CompoundIndex(name = "status_created_idx", def = "{'status': 1, 'createdAt': 1}")
+public class CascadeTask {
+
+    @Id
+    private String id;
+    private String organizationId;
+    private String sourceType;   // ROUTE, SCHEDULE
+    private String sourceId;
+    private String action;       // CANCEL, DETACH
+    private String status;       // PENDING, RUNNING, COMPLETED, FAILED
+
+    private long processed;      // Programs detached so far
+    private long cancelled;      // Of those, programs that were open and got cancelled
+    private int batches;
+    private int attempts;
+    private String lastError;
+
+    private String lockOwner;
+    private Instant lockedUntil;
+
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant completedAt;
+}
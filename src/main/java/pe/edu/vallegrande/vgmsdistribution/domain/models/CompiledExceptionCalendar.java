@@ -0,0 +1,139 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.CalendarExceptionType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, compiled view of an organization's exception calendar.
+ * Each scope (the whole organization or a single zone) keeps one 366-bit
+ * bitmap per year and exception type, so a day lookup is two hash lookups
+ * and a bit test.
+ */
+public final class CompiledExceptionCalendar {
+
+    public static final CompiledExceptionCalendar EMPTY = new CompiledExceptionCalendar(Map.of(), Map.of(), Map.of());
+
+    private static final String ORGANIZATION_SCOPE = "";
+    private static final int WORDS_PER_YEAR = 6; // 6 * 64 = 384 >= 366 bits
+
+    private final Map<String, Map<Integer, long[]>> suspended;
+    private final Map<String, Map<Integer, long[]>> shifted;
+    private final Map<String, Map<LocalDate, CalendarException>> shiftDetails;
+
+    private CompiledExceptionCalendar(Map<String, Map<Integer, long[]>> suspended,
+                                      Map<String, Map<Integer, long[]>> shifted,
+                                      Map<String, Map<LocalDate, CalendarException>> shiftDetails) {
+        this.suspended = suspended;
+        this.shifted = shifted;
+        this.shiftDetails = shiftDetails;
+    }
+
+    /**
+     * Compiles the active exceptions of a single organization into bitmaps
+     */
+    public static CompiledExceptionCalendar compile(Collection<CalendarException> exceptions) {
+        if (exceptions.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Map<Integer, long[]>> suspended = new HashMap<>();
+        Map<String, Map<Integer, long[]>> shifted = new HashMap<>();
+        Map<String, Map<LocalDate, CalendarException>> shiftDetails = new HashMap<>();
+
+        for (CalendarException exception : exceptions) {
+            LocalDate date = exception.getExceptionDate();
+            if (date == null) {
+                continue;
+            }
+            String scope = scopeOf(exception.getZoneId());
+            if (CalendarExceptionType.SHIFTED.name().equals(exception.getExceptionType())) {
+                setBit(shifted, scope, date);
+                shiftDetails.computeIfAbsent(scope, k -> new HashMap<>()).put(date, exception);
+            } else {
+                setBit(suspended, scope, date);
+            }
+        }
+        return new CompiledExceptionCalendar(suspended, shifted, shiftDetails);
+    }
+
+    /**
+     * True if distribution is suspended on the given date for the zone, either
+     * by an organization-wide exception or by one narrowed to that zone
+     */
+    public boolean isSuspended(String zoneId, LocalDate date) {
+        return test(suspended, ORGANIZATION_SCOPE, date)
+                || (zoneId != null && test(suspended, zoneId, date));
+    }
+
+    public boolean isShifted(String zoneId, LocalDate date) {
+        return test(shifted, ORGANIZATION_SCOPE, date)
+                || (zoneId != null && test(shifted, zoneId, date));
+    }
+
+    /**
+     * Returns the shift definition for the date, giving the zone-level entry
+     * precedence over the organization-wide one
+     */
+    public Optional<CalendarException> shiftFor(String zoneId, LocalDate date) {
+        if (zoneId != null && test(shifted, zoneId, date)) {
+            return Optional.ofNullable(shiftDetails.get(zoneId).get(date));
+        }
+        if (test(shifted, ORGANIZATION_SCOPE, date)) {
+            return Optional.ofNullable(shiftDetails.get(ORGANIZATION_SCOPE).get(date));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Lists the suspended dates of a year that apply to the zone, in order
+     */
+    public List<LocalDate> suspendedDates(String zoneId, int year) {
+        long[] orgBits = bitmap(suspended, ORGANIZATION_SCOPE, year);
+        long[] zoneBits = zoneId != null ? bitmap(suspended, zoneId, year) : null;
+        List<LocalDate> dates = new ArrayList<>();
+        for (int word = 0; word < WORDS_PER_YEAR; word++) {
+            long bits = (orgBits != null ? orgBits[word] : 0L) | (zoneBits != null ? zoneBits[word] : 0L);
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                dates.add(LocalDate.ofYearDay(year, word * 64 + bit + 1));
+                bits &= bits - 1;
+            }
+        }
+        return dates;
+    }
+
+    public boolean isEmpty() {
+        return suspended.isEmpty() && shifted.isEmpty();
+    }
+
+    private static String scopeOf(String zoneId) {
+        return zoneId == null || zoneId.isBlank() ? ORGANIZATION_SCOPE : zoneId;
+    }
+
+    private static void setBit(Map<String, Map<Integer, long[]>> target, String scope, LocalDate date) {
+        long[] words = target.computeIfAbsent(scope, k -> new HashMap<>())
+                .computeIfAbsent(date.getYear(), k -> new long[WORDS_PER_YEAR]);
+        int index = date.getDayOfYear() - 1;
+        words[index >>> 6] |= 1L << (index & 63);
+    }
+
+    private static boolean test(Map<String, Map<Integer, long[]>> source, String scope, LocalDate date) {
+        long[] words = bitmap(source, scope, date.getYear());
+        if (words == null) {
+            return false;
+        }
+        int index = date.getDayOfYear() - 1;
+        return (words[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    private static long[] bitmap(Map<String, Map<Integer, long[]>> source, String scope, int year) {
+        Map<Integer, long[]> years = source.get(scope);
+        return years != null ? years.get(year) : null;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -15,6 +17,14 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 @Document(collection = "programs")
+@CompoundIndexes({
+        @CompoundIndex(name = "organization_date_idx", def = "{'organizationId': 1, 'programDate': 1}"),
+        @CompoundIndex(name = "responsible_date_idx", def = "{'responsibleUserId': 1, 'programDate': 1}"),
+        @CompoundIndex(name = "status_planned_end_idx", def = "{'status': 1, 'plannedEndAt': 1}"),
+        @CompoundIndex(name = "schedule_ref_idx", def = "{'scheduleId': 1}"),
+        @CompoundIndex(name = "route_ref_idx", def = "{'routeId': 1}"),
+        @CompoundIndex(name = "program_date_idx", def = "{'programDate': 1}")
+})
 public class DistributionProgram {
 
     @Id
@@ -23,6 +33,10 @@ public class DistributionProgram {
     private String programCode;
     private String scheduleId;
     private String routeId; 
+    // Display copies kept in sync by ProgramReadModelPropagator
+    private String scheduleName;
+    private String routeName;
+    private String responsibleUserName;
     private String zoneId;            
     private String streetId;    
     private LocalDate programDate;
@@ -30,10 +44,13 @@ public class DistributionProgram {
     private String plannedEndTime;
     private String actualStartTime;
     private String actualEndTime;
+    private Instant plannedEndAt; // programDate + plannedEndTime in the distribution time zone
 
     private String status; // PLANNED, IN_PROGRESS, COMPLETED, CANCELLED
     private String responsibleUserId;
     private String observations;
+    private String transitionBatchId; // Last batch transition that moved this program
+    private Boolean overdue;          // Set by the auto-close job when still IN_PROGRESS past its planned end
 
     private Instant createdAt;
 }
@@ -1,6 +1,7 @@
 package pe.edu.vallegrande.vgmsdistribution.domain.models;
 import java.time.Instant;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +15,7 @@ import lombok.NoArgsConstructor;
 public class DistributionRoute {
     @Id
     private String id;
+    @Indexed
     private String organizationId;
     private String routeCode;
     private String routeName;
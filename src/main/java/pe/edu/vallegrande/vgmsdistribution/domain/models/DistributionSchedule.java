@@ -2,6 +2,7 @@ package pe.edu.vallegrande.vgmsdistribution.domain.models;
 import java.time.Instant;
 import java.util.List;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +14,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Document(collection = "schedules")
+@CompoundIndex(name = "organization_status_idx", def = "{'organizationId': 1, 'status': 1}")
 public class DistributionSchedule {
     @Id
     private String id;
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -15,6 +16,7 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder 
 @Document(collection = "fare")
+@CompoundIndex(name = "organization_status_effective_idx", def = "{'organizationId': 1, 'status': 1, 'effectiveDate': -1}")
 public class Fare {
     @Id
     private String id;
@@ -0,0 +1,153 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable 168-bit set with one bit per hour of the week, Monday 00:00 being bit 0.
+ * Used to reason about schedule coverage with plain bit operations.
+ */
+public final class HourOfWeekMask {
+
+    public static final int HOURS_PER_WEEK = 168;
+    public static final HourOfWeekMask EMPTY = new HourOfWeekMask(0L, 0L, 0L);
+    public static final HourOfWeekMask FULL = new HourOfWeekMask(-1L, -1L, (1L << (HOURS_PER_WEEK - 128)) - 1);
+
+    private final long w0;
+    private final long w1;
+    private final long w2;
+
+    private HourOfWeekMask(long w0, long w1, long w2) {
+        this.w0 = w0;
+        this.w1 = w1;
+        this.w2 = w2;
+    }
+
+    /**
+     * Builds the mask covered by a schedule. Hours partially covered count as covered,
+     * and windows ending at or before their start wrap into the next day.
+     */
+    public static HourOfWeekMask of(DistributionSchedule schedule) {
+        if (schedule.getDaysOfWeek() == null || schedule.getStartTime() == null) {
+            return EMPTY;
+        }
+        LocalTime start = parseTime(schedule.getStartTime());
+        if (start == null) {
+            return EMPTY;
+        }
+        LocalTime end = parseTime(schedule.getEndTime());
+        int startMinute = start.getHour() * 60 + start.getMinute();
+        int endMinute;
+        if (end != null) {
+            endMinute = end.getHour() * 60 + end.getMinute();
+            if (endMinute <= startMinute) {
+                endMinute += 24 * 60;
+            }
+        } else if (schedule.getDurationHours() > 0) {
+            endMinute = startMinute + schedule.getDurationHours() * 60;
+        } else {
+            return EMPTY;
+        }
+        int firstHour = startMinute / 60;
+        int lastHourExclusive = (endMinute + 59) / 60;
+
+        long[] words = new long[3];
+        for (String dayName : schedule.getDaysOfWeek()) {
+            DayOfWeek day = parseDay(dayName);
+            if (day == null) {
+                continue;
+            }
+            int dayOffset = (day.getValue() - 1) * 24;
+            for (int hour = firstHour; hour < lastHourExclusive; hour++) {
+                int bit = (dayOffset + hour) % HOURS_PER_WEEK;
+                words[bit >>> 6] |= 1L << (bit & 63);
+            }
+        }
+        return new HourOfWeekMask(words[0], words[1], words[2]);
+    }
+
+    public HourOfWeekMask or(HourOfWeekMask other) {
+        return new HourOfWeekMask(w0 | other.w0, w1 | other.w1, w2 | other.w2);
+    }
+
+    public HourOfWeekMask and(HourOfWeekMask other) {
+        return new HourOfWeekMask(w0 & other.w0, w1 & other.w1, w2 & other.w2);
+    }
+
+    public HourOfWeekMask not() {
+        return FULL.andNot(this);
+    }
+
+    public HourOfWeekMask andNot(HourOfWeekMask other) {
+        return new HourOfWeekMask(w0 & ~other.w0, w1 & ~other.w1, w2 & ~other.w2);
+    }
+
+    public int cardinality() {
+        return Long.bitCount(w0) + Long.bitCount(w1) + Long.bitCount(w2);
+    }
+
+    public boolean isEmpty() {
+        return (w0 | w1 | w2) == 0L;
+    }
+
+    public boolean get(int hourOfWeek) {
+        long word = hourOfWeek < 64 ? w0 : hourOfWeek < 128 ? w1 : w2;
+        return (word & (1L << (hourOfWeek & 63))) != 0;
+    }
+
+    /**
+     * Returns the maximal runs of set bits as [startHour, endHourExclusive) pairs
+     */
+    public List<int[]> runs() {
+        List<int[]> runs = new ArrayList<>();
+        int hour = 0;
+        while (hour < HOURS_PER_WEEK) {
+            if (!get(hour)) {
+                hour++;
+                continue;
+            }
+            int start = hour;
+            while (hour < HOURS_PER_WEEK && get(hour)) {
+                hour++;
+            }
+            runs.add(new int[]{start, hour});
+        }
+        return runs;
+    }
+
+    /**
+     * Accepts Spanish and English day names, with or without accents
+     */
+    public static DayOfWeek parseDay(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT)
+                .replace('Á', 'A').replace('É', 'E');
+        switch (normalized) {
+            case "LUNES", "MONDAY", "MON", "LUN" -> { return DayOfWeek.MONDAY; }
+            case "MARTES", "TUESDAY", "TUE", "MAR" -> { return DayOfWeek.TUESDAY; }
+            case "MIERCOLES", "WEDNESDAY", "WED", "MIE" -> { return DayOfWeek.WEDNESDAY; }
+            case "JUEVES", "THURSDAY", "THU", "JUE" -> { return DayOfWeek.THURSDAY; }
+            case "VIERNES", "FRIDAY", "FRI", "VIE" -> { return DayOfWeek.FRIDAY; }
+            case "SABADO", "SATURDAY", "SAT", "SAB" -> { return DayOfWeek.SATURDAY; }
+            case "DOMINGO", "SUNDAY", "SUN", "DOM" -> { return DayOfWeek.SUNDAY; }
+            default -> { return null; }
+        }
+    }
+
+    public static LocalTime parseTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
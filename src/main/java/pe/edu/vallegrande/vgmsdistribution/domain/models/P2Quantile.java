@@ -0,0 +1,110 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import java.util.Arrays;
+
+/**
+ * Streaming estimate of one quantile with the P² algorithm (Jain and Chlamtac):
+ * five markers are nudged towards their ideal positions on every observation,
+ * so memory and work per value are constant. Not thread-safe.
+ */
+public final class P2Quantile {
+
+    private final double quantile;
+    private final double[] heights = new double[5];
+    private final int[] positions = new int[5];
+    private final double[] desired = new double[5];
+    private final double[] increments;
+    private long count;
+
+    public P2Quantile(double quantile) {
+        if (quantile <= 0 || quantile >= 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        this.quantile = quantile;
+        this.increments = new double[]{0, quantile / 2, quantile, (1 + quantile) / 2, 1};
+    }
+
+    public void add(double value) {
+        if (count < 5) {
+            heights[(int) count++] = value;
+            if (count == 5) {
+                Arrays.sort(heights);
+                for (int i = 0; i < 5; i++) {
+                    positions[i] = i + 1;
+                }
+                desired[0] = 1;
+                desired[1] = 1 + 2 * quantile;
+                desired[2] = 1 + 4 * quantile;
+                desired[3] = 3 + 2 * quantile;
+                desired[4] = 5;
+            }
+            return;
+        }
+        count++;
+
+        int cell;
+        if (value < heights[0]) {
+            heights[0] = value;
+            cell = 0;
+        } else if (value >= heights[4]) {
+            heights[4] = value;
+            cell = 3;
+        } else {
+            cell = 0;
+            while (value >= heights[cell + 1]) {
+                cell++;
+            }
+        }
+        for (int i = cell + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+
+        for (int i = 1; i <= 3; i++) {
+            double offset = desired[i] - positions[i];
+            if ((offset >= 1 && positions[i + 1] - positions[i] > 1)
+                    || (offset <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int step = offset >= 0 ? 1 : -1;
+                double candidate = parabolic(i, step);
+                heights[i] = heights[i - 1] < candidate && candidate < heights[i + 1]
+                        ? candidate
+                        : linear(i, step);
+                positions[i] += step;
+            }
+        }
+    }
+
+    /**
+     * Current estimate, exact while fewer than five values were seen; NaN when empty
+     */
+    public double value() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] seen = Arrays.copyOf(heights, (int) count);
+            Arrays.sort(seen);
+            return seen[(int) Math.round(quantile * (count - 1))];
+        }
+        return heights[2];
+    }
+
+    public long count() {
+        return count;
+    }
+
+    private double parabolic(int i, int step) {
+        double spread = positions[i + 1] - positions[i - 1];
+        double right = (positions[i] - positions[i - 1] + step) * (heights[i + 1] - heights[i])
+                / (positions[i + 1] - positions[i]);
+        double left = (positions[i + 1] - positions[i] - step) * (heights[i] - heights[i - 1])
+                / (positions[i] - positions[i - 1]);
+        return heights[i] + step / spread * (right + left);
+    }
+
+    private double linear(int i, int step) {
+        return heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+    }
+}
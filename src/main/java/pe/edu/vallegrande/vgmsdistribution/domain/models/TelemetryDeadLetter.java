@@ -0,0 +1,29 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Batch of readings the writer could not store after its retries, kept for
+ * inspection and manual re-ingestion
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "telemetry_dead_letters")
+public class TelemetryDeadLetter {
+
+    @Id
+    private String id;
+    private Instant failedAt;
+    private String error;
+    private List<TelemetryReading> readings;
+}
@@ -0,0 +1,43 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.Instant;
+
+/**
+ * Raw reading of a field device, stored in a time-series collection bucketed by source
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "telemetry_readings")
+@TimeSeries(timeField = "timestamp", metaField = "source", granularity = Granularity.SECONDS)
+public class TelemetryReading {
+
+    @Id
+    private String id;
+    private Instant timestamp;
+    private Source source;
+    private double value;
+    private String unit;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Source {
+        private String organizationId;
+        private String deviceId;
+        private String kind;      // PRESSURE, FLOW, VALVE_POSITION...
+        private String programId; // Program the reading was taken for, if any
+        private String zoneId;
+    }
+}
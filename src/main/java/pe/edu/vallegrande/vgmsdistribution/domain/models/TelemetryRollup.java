@@ -0,0 +1,39 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Aggregate of the readings of one device and kind over a minute or an hour.
+ * The id is derived from those keys so flushes upsert into the same bucket.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "telemetry_rollups")
+@CompoundIndex(name = "device_bucket_idx", def = "{'deviceId': 1, 'granularity': 1, 'bucketStart': 1}")
+public class TelemetryRollup {
+
+    @Id
+    private String id;
+    private String organizationId;
+    private String deviceId;
+    private String kind;
+    private String programId;
+    private String zoneId;
+    private String granularity; // MINUTE, HOUR
+    private Instant bucketStart;
+
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+}
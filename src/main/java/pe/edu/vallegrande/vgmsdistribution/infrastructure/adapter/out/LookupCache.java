@@ -0,0 +1,100 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caché asíncrona de consultas a MS-USERS con stale-while-revalidate:
+ * la entrada es fresca durante el TTL, después se sigue sirviendo mientras se
+ * recarga en segundo plano, y solo caduca al superar el máximo de antigüedad.
+ * Si la recarga falla se conserva el valor anterior, por lo que una caída corta
+ * de MS-USERS no se nota en los endpoints que enriquecen con usuarios.
+ * Los resultados vacíos (usuario inexistente) se guardan con un TTL más corto.
+ * Una entrada se comparte entre todos los usuarios, así que las cargas van
+ * siempre con el token de servicio y nunca con el JWT de quien las disparó.
+ * Sin token de servicio no se cachea nada: cada consulta va a MS-USERS con el
+ * JWT de quien la hace, como antes de existir la caché.
+ */
+@Slf4j
+class LookupCache<V> {
+
+    private final String name;
+    private final Function<String, Mono<V>> loader;
+    private final AsyncLoadingCache<String, Optional<V>> cache;
+
+    LookupCache(String name, MsUsersConfig.Cache settings, MeterRegistry meterRegistry,
+                Function<String, Mono<V>> loader, boolean shared) {
+        this.name = name;
+        this.loader = loader;
+        if (!shared) {
+            this.cache = null;
+            return;
+        }
+        long staleNanos = Duration.ofSeconds(settings.getMaxStaleSeconds()).toNanos();
+        long negativeNanos = Duration.ofSeconds(settings.getNegativeTtlSeconds()).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .refreshAfterWrite(Duration.ofSeconds(settings.getTtlSeconds()))
+                .expireAfter(new Expiry<String, Optional<V>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<V> value, long currentTime) {
+                        return lifetime(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<V> value, long currentTime,
+                                                  long currentDuration) {
+                        return lifetime(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<V> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    private long lifetime(Optional<V> value) {
+                        return value.isPresent() ? staleNanos : negativeNanos;
+                    }
+                })
+                .recordStats()
+                .buildAsync((key, executor) -> loader.apply(key).map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        // Sin contexto de seguridad el WebClient de MS-USERS usa el token de servicio
+                        .contextWrite(ReactiveSecurityContextHolder.clearContext())
+                        .toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "ms-users." + name);
+    }
+
+    /**
+     * Devuelve el valor cacheado o lo carga; un fallo sin valor previo se resuelve vacío
+     */
+    Mono<V> get(String key) {
+        // Cancelar a un suscriptor no debe cancelar la carga compartida con los demás
+        Mono<V> value = cache != null
+                ? Mono.fromFuture(() -> cache.get(key), true).flatMap(Mono::justOrEmpty)
+                : loader.apply(key);
+        return value
+                .onErrorResume(ex -> {
+                    log.error("Error loading {} {}: {}", name, key, ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    void invalidate(String key) {
+        if (cache != null) {
+            cache.synchronous().invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.exception.CustomException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Protección de las llamadas a MS-USERS: un circuit breaker por endpoint, un
+ * bulkhead de concurrencia compartido y un presupuesto global de reintentos.
+ * Con MS-USERS degradado las llamadas fallan rápido en lugar de acumular
+ * conexiones y reintentos sobre él
+ */
+@Component
+@Slf4j
+public class MsUsersResilience {
+
+    private final MsUsersConfig.Resilience settings;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final Bulkhead bulkhead;
+    private final RetryBudget retryBudget;
+    private final Counter retriesAllowed;
+    private final Counter retriesRejected;
+
+    public MsUsersResilience(MsUsersConfig msUsersConfig, MeterRegistry meterRegistry) {
+        this.settings = msUsersConfig.getResilience();
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(settings.getSlowCallDurationMs()))
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(Duration.ofSeconds(settings.getWaitInOpenStateSeconds()))
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .recordException(MsUsersResilience::isTransient)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                // Esperar un permiso bloquea el hilo que llama, que aquí es el event loop de Netty
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.bulkhead = bulkheads.bulkhead("ms-users");
+        this.retryBudget = new RetryBudget(settings.getRetryBudgetRatio(),
+                settings.getRetryBudgetMinPerSecond(), settings.getRetryBudgetMaxTokens());
+
+        circuitBreakers.getEventPublisher().onEntryAdded(event -> event.getAddedEntry().getEventPublisher()
+                .onStateTransition(transition -> {
+                    log.warn("MS-USERS circuit breaker {}: {}", transition.getCircuitBreakerName(),
+                            transition.getStateTransition());
+                    Counter.builder("ms-users.circuitbreaker.transitions")
+                            .tag("name", transition.getCircuitBreakerName())
+                            .tag("from", transition.getStateTransition().getFromState().name())
+                            .tag("to", transition.getStateTransition().getToState().name())
+                            .register(meterRegistry)
+                            .increment();
+                }));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        this.retriesAllowed = Counter.builder("ms-users.retries").tag("outcome", "allowed").register(meterRegistry);
+        this.retriesRejected = Counter.builder("ms-users.retries").tag("outcome", "rejected").register(meterRegistry);
+        Gauge.builder("ms-users.retry.budget", retryBudget, RetryBudget::balance).register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta una llamada de un endpoint; solo se reintenta si es idempotente.
+     * Si el circuito está abierto o el bulkhead lleno falla con 503
+     */
+    public <T> Mono<T> call(String endpoint, boolean idempotent, Supplier<Mono<T>> call) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(endpoint);
+        return Mono.defer(() -> {
+            retryBudget.deposit();
+            Mono<T> guarded = Mono.defer(call)
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+            if (idempotent) {
+                guarded = guarded.retryWhen(retrySpec());
+            }
+            return guarded.onErrorMap(MsUsersResilience::isRejected, MsUsersResilience::unavailable);
+        });
+    }
+
+    private RetryBackoffSpec retrySpec() {
+        return Retry.backoff(settings.getMaxRetries(), Duration.ofMillis(settings.getRetryBackoffMs()))
+                .filter(ex -> isTransient(ex) && !isRejected(ex))
+                // Sin saldo en el presupuesto el reintento se descarta y se propaga el error original
+                .doBeforeRetryAsync(signal -> withdraw() ? Mono.empty() : Mono.error(signal.failure()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private boolean withdraw() {
+        if (retryBudget.tryWithdraw()) {
+            retriesAllowed.increment();
+            return true;
+        }
+        retriesRejected.increment();
+        return false;
+    }
+
+    /**
+     * Los errores 4xx son respuestas válidas de MS-USERS: ni abren el circuito ni se reintentan
+     */
+    private static boolean isTransient(Throwable ex) {
+        return !(ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+
+    private static boolean isRejected(Throwable ex) {
+        return ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException;
+    }
+
+    private static CustomException unavailable(Throwable ex) {
+        return new CustomException(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "MS-USERS service unavailable",
+                ex.getMessage());
+    }
+}
@@ -0,0 +1,115 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.P2Quantile;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Hedging de lecturas idempotentes a MS-USERS: si la petición no respondió
+ * dentro del percentil configurado de latencia del endpoint, se lanza una
+ * segunda y se usa la primera que conteste. Las peticiones extra están
+ * limitadas por un presupuesto de tokens para no duplicar carga en una degradación
+ */
+@Component
+@Slf4j
+public class RequestHedger {
+
+    private final MsUsersConfig.Hedging settings;
+    private final MeterRegistry meterRegistry;
+    private final RetryBudget budget;
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+    public RequestHedger(MsUsersConfig msUsersConfig, MeterRegistry meterRegistry) {
+        this.settings = msUsersConfig.getHedging();
+        this.meterRegistry = meterRegistry;
+        this.budget = new RetryBudget(settings.getBudgetRatio(), 0, settings.getBudgetMaxTokens());
+    }
+
+    /**
+     * Ejecuta la lectura, con una petición de respaldo si tarda más que el percentil.
+     * Solo debe usarse con GET idempotentes
+     */
+    public <T> Mono<T> hedge(String endpoint, Supplier<Mono<T>> call) {
+        if (!settings.isEnabled()) {
+            return Mono.defer(call);
+        }
+        LatencyTracker tracker = latencies.computeIfAbsent(endpoint, key -> new LatencyTracker());
+        return Mono.defer(() -> {
+            budget.deposit();
+            Mono<Attempt<T>> primary = timed(tracker, call).map(value -> new Attempt<>(value, false));
+            Mono<Attempt<T>> backup = Mono.delay(tracker.delay())
+                    .flatMap(tick -> {
+                        if (!budget.tryWithdraw()) {
+                            counter(endpoint, "rejected").increment();
+                            return Mono.<Attempt<T>>never();
+                        }
+                        counter(endpoint, "fired").increment();
+                        return timed(tracker, call)
+                                .map(value -> new Attempt<>(value, true))
+                                // Si el respaldo falla se sigue esperando a la petición original
+                                .onErrorResume(ex -> Mono.never());
+                    });
+            // El respaldo solo cuenta como ganador si es el que eligió firstWithSignal
+            return Mono.firstWithSignal(primary, backup)
+                    .doOnNext(attempt -> {
+                        if (attempt.backup()) {
+                            counter(endpoint, "won").increment();
+                        }
+                    })
+                    .map(Attempt::value);
+        });
+    }
+
+    private record Attempt<T>(T value, boolean backup) {
+    }
+
+    private <T> Mono<T> timed(LatencyTracker tracker, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.get().doOnSuccess(value -> tracker.record(System.nanoTime() - start));
+        });
+    }
+
+    private Counter counter(String endpoint, String outcome) {
+        return Counter.builder("ms-users.hedges")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Percentil de latencia de un endpoint; el estimador se renueva cada window
+     * muestras para seguir los cambios, usando el anterior mientras el nuevo se llena
+     */
+    private final class LatencyTracker {
+
+        private P2Quantile current = new P2Quantile(settings.getPercentile());
+        private P2Quantile previous;
+
+        synchronized void record(long nanos) {
+            current.add(nanos);
+            if (current.count() >= settings.getWindow()) {
+                previous = current;
+                current = new P2Quantile(settings.getPercentile());
+            }
+        }
+
+        synchronized Duration delay() {
+            P2Quantile estimate = current.count() >= settings.getMinSamples() ? current : previous;
+            if (estimate == null) {
+                return Duration.ofMillis(settings.getInitialDelayMs());
+            }
+            return Duration.ofNanos(Math.max((long) estimate.value(),
+                    Duration.ofMillis(settings.getMinDelayMs()).toNanos()));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
+
+/**
+ * Presupuesto global de peticiones extra (reintentos, peticiones de respaldo):
+ * cada llamada deposita una fracción de token, cada petición extra consume uno
+ * entero y el saldo se repone además con un mínimo por segundo, de modo que las
+ * peticiones extra nunca superan esa fracción del tráfico y no multiplican la
+ * carga sobre un servicio degradado
+ */
+class RetryBudget {
+
+    // Diez depósitos de 0.1 suman 0.999...: sin esta tolerancia nunca pagarían la petición extra
+    private static final double EPSILON = 1e-9;
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxTokens;
+
+    private double balance;
+    private long lastRefill = System.nanoTime();
+
+    RetryBudget(double ratio, double minPerSecond, double maxTokens) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxTokens = maxTokens;
+        this.balance = maxTokens;
+    }
+
+    synchronized void deposit() {
+        refill();
+        balance = Math.min(maxTokens, balance + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        refill();
+        if (balance < 1 - EPSILON) {
+            return false;
+        }
+        balance = Math.max(0, balance - 1);
+        return true;
+    }
+
+    synchronized double balance() {
+        refill();
+        return balance;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        balance = Math.min(maxTokens, balance + minPerSecond * (now - lastRefill) / 1_000_000_000d);
+        lastRefill = now;
+    }
+}
@@ -1,5 +1,6 @@
 package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
@@ -19,53 +20,90 @@ import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.Organizat
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.exception.CustomException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
-import java.time.Duration;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Cliente para comunicarse con el microservicio MS-USERS
  * Maneja las operaciones de creación de administradores, validación de usuarios
- * y obtención de datos de usuarios con sus organizaciones
+ * y obtención de datos de usuarios con sus organizaciones.
+ * Las consultas de usuario, organización y administradores pasan por una caché
+ * con stale-while-revalidate (ver {@link LookupCache})
  */
 @Component
 @Slf4j
 public class UserAuthClient {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final WebClient webClient;
     private final MsUsersConfig msUsersConfig;
+    private final MsUsersResilience msUsersResilience;
+    private final RequestHedger requestHedger;
+    private final LookupCache<MsUsersUserInfo> users;
+    private final LookupCache<OrganizationResponse> organizations;
+    private final LookupCache<List<MsUsersUserInfo>> admins;
 
-    public UserAuthClient(@Qualifier("msUsersWebClient") WebClient webClient, MsUsersConfig msUsersConfig) {
+    public UserAuthClient(@Qualifier("msUsersWebClient") WebClient webClient, MsUsersConfig msUsersConfig,
+                          MsUsersResilience msUsersResilience, RequestHedger requestHedger,
+                          MeterRegistry meterRegistry) {
         this.webClient = webClient;
         this.msUsersConfig = msUsersConfig;
+        this.msUsersResilience = msUsersResilience;
+        this.requestHedger = requestHedger;
+        boolean shared = hasServiceCredential(msUsersConfig.getAuth());
+        MsUsersConfig.Cache cache = msUsersConfig.getCache();
+        this.users = new LookupCache<>("users", cache, meterRegistry, this::fetchUserById, shared);
+        this.organizations = new LookupCache<>("organizations", cache, meterRegistry, this::fetchOrganizationById, shared);
+        this.admins = new LookupCache<>("admins", cache, meterRegistry,
+                organizationId -> fetchAdminsByOrganizationId(organizationId).collectList(), shared);
+    }
+
+    /**
+     * Las cachés cargan sin el JWT del usuario, así que solo se activan con un
+     * token de servicio; sin él se avisa y cada consulta usa el JWT de quien la hace
+     */
+    private static boolean hasServiceCredential(MsUsersConfig.Auth auth) {
+        if (auth.isEnabled() && auth.getToken() != null && !auth.getToken().isBlank()) {
+            return true;
+        }
+        log.warn("No MS-USERS service credential configured (microservices.users.auth.token / MS_USERS_SERVICE_TOKEN): "
+                + "user, organization and admin lookups are not cached and background lookups go unauthenticated");
+        return false;
     }
 
     /**
      * Obtiene administradores por organización
      */
     public Flux<MsUsersUserInfo> getAdminsByOrganizationId(String organizationId) {
+        return admins.get(organizationId).flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Descarta los datos cacheados de un usuario, p. ej. tras un cambio conocido
+     */
+    public void evictUser(String userId) {
+        users.invalidate(userId);
+    }
+
+    private Flux<MsUsersUserInfo> fetchAdminsByOrganizationId(String organizationId) {
         String endpoint = msUsersConfig.getEndpoints().getAdmins()
                 .replace("{organizationId}", organizationId);
         
         log.debug("Getting admins for organization: {} using endpoint: {}", organizationId, endpoint);
         
-        return webClient
-                .get()
-                .uri(endpoint)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<MsUsersUserInfo>>>() {})
+        return msUsersResilience.call("admins", true, () -> webClient
+                        .get()
+                        .uri(endpoint)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<MsUsersUserInfo>>>() {}))
                 .flatMapMany(apiResponse -> {
                     if (apiResponse.isSuccess() && apiResponse.getData() != null) {
                         return Flux.fromIterable(apiResponse.getData());
                     } else {
                         return Flux.empty();
                     }
-                })
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(Exception.class, ex -> {
-                    log.error("Error getting admins for organization {}: {}", organizationId, ex.getMessage());
-                    return Flux.empty();
                 });
     }
 
@@ -76,11 +114,11 @@ public class UserAuthClient {
         String endpoint = msUsersConfig.getEndpoints().getUsers()
                 .replace("{organizationId}", organizationId);
         
-        return webClient
-                .get()
-                .uri(endpoint)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<MsUsersUserInfo>>>() {})
+        return msUsersResilience.call("users", true, () -> webClient
+                        .get()
+                        .uri(endpoint)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<MsUsersUserInfo>>>() {}))
                 .flatMapMany(apiResponse -> {
                     if (apiResponse.isSuccess() && apiResponse.getData() != null) {
                         return Flux.fromIterable(apiResponse.getData());
@@ -88,7 +126,6 @@ public class UserAuthClient {
                         return Flux.empty();
                     }
                 })
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
                 .onErrorResume(Exception.class, ex -> {
                     log.error("Error getting users for organization {}: {}", organizationId, ex.getMessage());
                     return Flux.empty();
@@ -102,11 +139,11 @@ public class UserAuthClient {
         String endpoint = msUsersConfig.getEndpoints().getClients()
                 .replace("{organizationId}", organizationId);
         
-        return webClient
-                .get()
-                .uri(endpoint)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<MsUsersUserInfo>>>() {})
+        return msUsersResilience.call("clients", true, () -> webClient
+                        .get()
+                        .uri(endpoint)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<MsUsersUserInfo>>>() {}))
                 .flatMapMany(apiResponse -> {
                     if (apiResponse.isSuccess() && apiResponse.getData() != null) {
                         return Flux.fromIterable(apiResponse.getData());
@@ -114,7 +151,6 @@ public class UserAuthClient {
                         return Flux.empty();
                     }
                 })
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
                 .onErrorResume(Exception.class, ex -> {
                     log.error("Error getting clients for organization {}: {}", organizationId, ex.getMessage());
                     return Flux.empty();
@@ -125,14 +161,18 @@ public class UserAuthClient {
      * Obtiene usuario por ID
      */
     public Mono<MsUsersUserInfo> getUserById(String userId) {
+        return users.get(userId);
+    }
+
+    private Mono<MsUsersUserInfo> fetchUserById(String userId) {
         String endpoint = msUsersConfig.getEndpoints().getUserById()
                 .replace("{userId}", userId);
         
-        return webClient
-                .get()
-                .uri(endpoint)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<MsUsersUserInfo>>() {})
+        return requestHedger.hedge("user-by-id", () -> msUsersResilience.call("user-by-id", true, () -> webClient
+                        .get()
+                        .uri(endpoint)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<MsUsersUserInfo>>() {})))
                 .flatMap(apiResponse -> {
                     if (apiResponse.isSuccess() && apiResponse.getData() != null) {
                         return Mono.just(apiResponse.getData());
@@ -140,11 +180,8 @@ public class UserAuthClient {
                         return Mono.empty();
                     }
                 })
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(Exception.class, ex -> {
-                    log.error("Error getting user {}: {}", userId, ex.getMessage());
-                    return Mono.empty();
-                });
+                // Un 404 es un usuario inexistente: se cachea como vacío
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty());
     }
 
     /**
@@ -156,12 +193,17 @@ public class UserAuthClient {
         String endpoint = msUsersConfig.getEndpoints().getCreateAdmin()
                 .replace("{organizationId}", organizationId);
         
-        return webClient
-                .post()
-                .uri(endpoint)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<MsUsersUserCreationResponse>>() {})
+        // La misma clave en todos los intentos permite a MS-USERS descartar un alta repetida.
+        // Hasta confirmar que MS-USERS la respeta el alta no se reintenta (retry-create-admin)
+        String idempotencyKey = UUID.randomUUID().toString();
+        boolean retryable = msUsersConfig.getResilience().isRetryCreateAdmin();
+        return msUsersResilience.call("create-admin", retryable, () -> webClient
+                        .post()
+                        .uri(endpoint)
+                        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<MsUsersUserCreationResponse>>() {}))
                 .flatMap(apiResponse -> {
                     if (apiResponse != null && apiResponse.isSuccess() && apiResponse.getData() != null) {
                         MsUsersUserCreationResponse userCreationData = apiResponse.getData();
@@ -190,7 +232,6 @@ public class UserAuthClient {
                                 "No details available."));
                     }
                 })
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
                 .onErrorMap(WebClientResponseException.class, this::mapWebClientException);
     }
 
@@ -216,13 +257,13 @@ public class UserAuthClient {
      * Valida la existencia de un usuario en el servicio MS-USERS
      */
     private Mono<ValidateUserResponse> validateUser(ValidateUserRequest request) {
-        return webClient
-                .post()
-                .uri(msUsersConfig.getEndpoints().getValidate())
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(ValidateUserResponse.class)
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
+        // Es una consulta sin efectos aunque viaje por POST, por eso se puede reintentar
+        return msUsersResilience.call("validate", true, () -> webClient
+                        .post()
+                        .uri(msUsersConfig.getEndpoints().getValidate())
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(ValidateUserResponse.class))
                 .onErrorMap(WebClientResponseException.class, this::mapWebClientException);
     }
 
@@ -259,16 +300,20 @@ public class UserAuthClient {
      * Obtiene detalles de la organización por ID
      */
     public Mono<OrganizationResponse> getOrganizationById(String organizationId) {
+        return organizations.get(organizationId);
+    }
+
+    private Mono<OrganizationResponse> fetchOrganizationById(String organizationId) {
         String endpoint = msUsersConfig.getEndpoints().getOrganizationById()
                 .replace("{organizationId}", organizationId);
         
         log.debug("Getting organization details: {} using endpoint: {}", organizationId, endpoint);
         
-        return webClient
-                .get()
-                .uri(endpoint)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<OrganizationResponse>>() {})
+        return requestHedger.hedge("organization-by-id", () -> msUsersResilience.call("organization-by-id", true, () -> webClient
+                        .get()
+                        .uri(endpoint)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<OrganizationResponse>>() {})))
                 .flatMap(apiResponse -> {
                     if (apiResponse.isSuccess() && apiResponse.getData() != null) {
                         return Mono.just(apiResponse.getData());
@@ -276,10 +321,6 @@ public class UserAuthClient {
                         return Mono.empty();
                     }
                 })
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)))
-                .onErrorResume(Exception.class, ex -> {
-                    log.error("Error getting organization {}: {}", organizationId, ex.getMessage());
-                    return Mono.empty();
-                });
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty());
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.external.msusers.MsUsersUserInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Resuelve usuarios de MS-USERS para páginas completas de resultados. Cada página
+ * deduplica sus IDs y los consulta con un paralelismo fijo dentro de la propia
+ * petición, de modo que cientos de filas no abren cientos de peticiones a la vez,
+ * y cancelar la petición cancela también sus consultas. Cada consulta tiene su
+ * propio tiempo límite: un usuario lento se resuelve vacío sin frenar al resto.
+ * Los IDs repetidos entre páginas o peticiones los comparte la caché de
+ * {@link UserAuthClient}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserBatchLoader {
+
+    private final UserAuthClient userAuthClient;
+    private final MsUsersConfig msUsersConfig;
+
+    /**
+     * Obtiene un usuario; vacío si no existe, MS-USERS no responde o se agota el tiempo límite
+     */
+    public Mono<MsUsersUserInfo> load(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return Mono.empty();
+        }
+        return userAuthClient.getUserById(userId)
+                .timeout(Duration.ofMillis(msUsersConfig.getLoader().getLookupTimeoutMs()))
+                .onErrorResume(ex -> {
+                    log.warn("User {} not resolved: {}", userId, ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Resuelve cada ID distinto una sola vez; los que no se resuelven no aparecen en el mapa
+     */
+    public Mono<Map<String, MsUsersUserInfo>> loadAll(Collection<String> userIds) {
+        return Flux.fromStream(() -> userIds.stream()
+                        .filter(userId -> userId != null && !userId.isBlank())
+                        .distinct())
+                .flatMap(userId -> load(userId).map(user -> Map.entry(userId, user)),
+                        msUsersConfig.getLoader().getConcurrency())
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
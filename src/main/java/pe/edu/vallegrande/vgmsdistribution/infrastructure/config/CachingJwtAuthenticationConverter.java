@@ -0,0 +1,81 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import pe.edu.vallegrande.vgmsdistribution.application.config.AuthCacheConfig;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Reuses the authentication built for a bearer token until the token expires.
+ * Entries are keyed by the SHA-256 of the token, never the token itself, so
+ * repeated requests skip claim parsing and authority construction entirely.
+ * Hits and misses are published under the cache name {@code jwt.authentication}.
+ */
+public class CachingJwtAuthenticationConverter implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
+
+    private final Converter<Jwt, AbstractAuthenticationToken> delegate;
+    private final Cache<String, AbstractAuthenticationToken> cache;
+
+    public CachingJwtAuthenticationConverter(Converter<Jwt, AbstractAuthenticationToken> delegate,
+                                             AuthCacheConfig config, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        long defaultTtlNanos = Duration.ofSeconds(config.getDefaultTtlSeconds()).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .expireAfter(new Expiry<String, AbstractAuthenticationToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, AbstractAuthenticationToken value, long currentTime) {
+                        return untilExpiry(value, defaultTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, AbstractAuthenticationToken value, long currentTime,
+                                                  long currentDuration) {
+                        return untilExpiry(value, defaultTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, AbstractAuthenticationToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.authentication");
+    }
+
+    @Override
+    public Mono<AbstractAuthenticationToken> convert(Jwt jwt) {
+        return Mono.fromSupplier(() -> cache.get(digest(jwt.getTokenValue()), key -> delegate.convert(jwt)));
+    }
+
+    private static long untilExpiry(AbstractAuthenticationToken authentication, long defaultTtlNanos) {
+        if (authentication.getPrincipal() instanceof Jwt jwt && jwt.getExpiresAt() != null) {
+            return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+        }
+        return defaultTtlNanos;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
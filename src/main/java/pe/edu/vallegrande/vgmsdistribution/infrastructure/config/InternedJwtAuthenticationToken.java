@@ -0,0 +1,29 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.service.AuthoritySet;
+
+import java.util.Collection;
+
+/**
+ * JWT authentication that carries its authorities pre-interned as an {@link AuthoritySet}
+ */
+public class InternedJwtAuthenticationToken extends JwtAuthenticationToken {
+
+    private transient AuthoritySet authoritySet;
+
+    public InternedJwtAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities, String name) {
+        super(jwt, authorities, name);
+        this.authoritySet = AuthoritySet.of(authorities);
+    }
+
+    public AuthoritySet getAuthoritySet() {
+        if (authoritySet == null) {
+            // Lost when the token is serialized; rebuilt from the authorities it was created with
+            authoritySet = AuthoritySet.of(getAuthorities());
+        }
+        return authoritySet;
+    }
+}
@@ -3,9 +3,10 @@ package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
-import org.springframework.security.oauth2.jwt.ReactiveJwtDecoders;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.service.JwksCache;
 
 @Configuration
 public class JwtConfig  {
@@ -13,22 +14,15 @@ public class JwtConfig  {
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String issuerUri;
 
+    /**
+     * Single decoder shared by the resource server and JwtService. Keys come from
+     * the in-memory JWKS cache, so verifying a token makes no outbound call.
+     */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return token -> {
-            try {
-                return ReactiveJwtDecoders.fromIssuerLocation(issuerUri)
-                        .decode(token)
-                        .block(); // Usar block() en lugar de toFuture().get()
-            } catch (Exception e) {
-                throw new RuntimeException("Error decoding JWT token", e);
-            }
-        };
-    }
-    
-    @Bean
-    public ReactiveJwtDecoder reactiveJwtDecoder() {
-        return ReactiveJwtDecoders.fromIssuerLocation(issuerUri);
+    public ReactiveJwtDecoder reactiveJwtDecoder(JwksCache jwksCache) {
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withJwkSource(jwksCache::select).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
     }
 
 }
@@ -0,0 +1,57 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CascadeTask;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionSchedule;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.Fare;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.TelemetryRollup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Crea al arrancar los índices declarados en las entidades. No depende de
+ * {@code spring.data.mongodb.auto-index-creation}: las consultas por organización,
+ * responsable y estado, y los trabajos programados, cuentan con esos índices.
+ * createIndex no hace nada si el índice ya existe, y un fallo solo se registra
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(
+            DistributionProgram.class,
+            DistributionSchedule.class,
+            DistributionRoute.class,
+            Fare.class,
+            CascadeTask.class,
+            TelemetryRollup.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        Flux.fromIterable(INDEXED_ENTITIES)
+                .concatMap(type -> Flux.fromIterable(resolver.resolveIndexFor(type))
+                        .concatMap(index -> mongoTemplate.indexOps(type).createIndex(index)
+                                .doOnNext(name -> log.debug("Index {} of {} ready", name, type.getSimpleName()))
+                                .onErrorResume(error -> {
+                                    log.error("Error creating index {} of {}: {}",
+                                            index.getIndexOptions().get("name"), type.getSimpleName(), error.getMessage());
+                                    return Mono.empty();
+                                })))
+                .count()
+                .subscribe(created -> log.info("{} Mongo indexes ensured", created));
+    }
+}
@@ -0,0 +1,200 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Balanceo del lado cliente entre instancias de MS-USERS: cada petición va a la
+ * instancia con menos peticiones en curso, y las instancias que fallan seguido
+ * (error de conexión o 5xx) quedan fuera durante un tiempo. La lista sale de la
+ * configuración o de un archivo local que se relee periódicamente. Sin
+ * instancias configuradas las peticiones siguen yendo a la base URL
+ */
+@Component
+@Slf4j
+public class MsUsersLoadBalancer implements ExchangeFilterFunction {
+
+    private final MsUsersConfig msUsersConfig;
+    private final Counter ejections;
+    private volatile List<Instance> instances = List.of();
+
+    public MsUsersLoadBalancer(MsUsersConfig msUsersConfig, MeterRegistry meterRegistry) {
+        this.msUsersConfig = msUsersConfig;
+        this.ejections = Counter.builder("ms-users.balancer.ejections").register(meterRegistry);
+        Gauge.builder("ms-users.balancer.instances", this, balancer -> balancer.instances.size())
+                .tag("state", "total")
+                .register(meterRegistry);
+        Gauge.builder("ms-users.balancer.instances", this, balancer -> balancer.instances.stream()
+                        .filter(instance -> instance.isAvailable(System.currentTimeMillis()))
+                        .count())
+                .tag("state", "available")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * Relee la lista de instancias; las que siguen en la lista conservan su estado
+     */
+    @Scheduled(fixedDelayString = "${microservices.users.balancer.refresh-interval-ms:30000}",
+            initialDelayString = "${microservices.users.balancer.refresh-interval-ms:30000}")
+    public void refresh() {
+        List<String> urls = configuredUrls();
+        Map<String, Instance> current = new LinkedHashMap<>();
+        instances.forEach(instance -> current.put(instance.baseUrl, instance));
+        List<Instance> updated = new ArrayList<>();
+        for (String url : urls) {
+            updated.add(current.getOrDefault(url, new Instance(url)));
+        }
+        if (!updated.equals(instances)) {
+            log.info("MS-USERS balancer instances: {}", urls);
+        }
+        instances = List.copyOf(updated);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        List<Instance> candidates = instances;
+        String baseUrl = trimSlash(msUsersConfig.getBaseUrl());
+        String url = request.url().toString();
+        if (candidates.isEmpty() || !url.startsWith(baseUrl)) {
+            return next.exchange(request);
+        }
+        Instance instance = choose(candidates);
+        ClientRequest routed = ClientRequest.from(request)
+                .url(URI.create(instance.baseUrl + url.substring(baseUrl.length())))
+                .build();
+        return Mono.defer(() -> {
+            instance.outstanding.incrementAndGet();
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    instance.outstanding.decrementAndGet();
+                }
+            };
+            return next.exchange(routed)
+                    .doOnNext(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            onFailure(instance);
+                        } else {
+                            instance.failures.set(0);
+                        }
+                    })
+                    .doOnError(ex -> onFailure(instance))
+                    // La petición sigue en curso hasta que termina el cuerpo, no al llegar los headers
+                    .map(response -> response.mutate()
+                            .body(body -> body
+                                    // Antes de propagar el fin, para que quien lee el cuerpo ya vea la instancia libre
+                                    .doOnComplete(release)
+                                    .doOnError(ex -> release.run())
+                                    .doOnCancel(release))
+                            .build())
+                    .doFinally(signal -> {
+                        if (signal != SignalType.ON_COMPLETE) {
+                            release.run();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Menos peticiones en curso entre las disponibles, desempatando al azar;
+     * si todas están expulsadas se elige entre todas para no cortar el tráfico
+     */
+    private static Instance choose(List<Instance> candidates) {
+        long now = System.currentTimeMillis();
+        boolean anyAvailable = candidates.stream().anyMatch(instance -> instance.isAvailable(now));
+        int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+        Instance best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            Instance candidate = candidates.get((offset + i) % candidates.size());
+            if (anyAvailable && !candidate.isAvailable(now)) {
+                continue;
+            }
+            if (best == null || candidate.outstanding.get() < best.outstanding.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private void onFailure(Instance instance) {
+        MsUsersConfig.Balancer settings = msUsersConfig.getBalancer();
+        if (instance.failures.incrementAndGet() >= settings.getEjectAfterFailures()) {
+            instance.failures.set(0);
+            instance.ejectedUntil = System.currentTimeMillis() + settings.getEjectionSeconds() * 1000;
+            ejections.increment();
+            log.warn("MS-USERS instance {} ejected for {} s", instance.baseUrl, settings.getEjectionSeconds());
+        }
+    }
+
+    private List<String> configuredUrls() {
+        MsUsersConfig.Balancer settings = msUsersConfig.getBalancer();
+        List<String> urls = new ArrayList<>(settings.getInstances());
+        String file = settings.getInstancesFile();
+        if (file != null && !file.isBlank()) {
+            try {
+                Files.readAllLines(Path.of(file)).stream()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .forEach(urls::add);
+            } catch (IOException ex) {
+                log.warn("Could not read MS-USERS instances file {}: {}", file, ex.getMessage());
+                // Mantener la lista anterior si el archivo no se puede leer
+                return instances.stream().map(instance -> instance.baseUrl).toList();
+            }
+        }
+        return urls.stream()
+                .filter(url -> url != null && !url.isBlank())
+                .map(MsUsersLoadBalancer::trimSlash)
+                .distinct()
+                .toList();
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static final class Instance {
+
+        private final String baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long ejectedUntil;
+
+        private Instance(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        private boolean isAvailable(long now) {
+            return ejectedUntil <= now;
+        }
+    }
+}
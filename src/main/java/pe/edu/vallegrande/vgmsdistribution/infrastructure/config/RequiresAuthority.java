@@ -0,0 +1,23 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a handler to callers holding any of the given comma-separated
+ * authorities, each matched as a role (ROLE_ prefix) or as a permission.
+ * Evaluated as a bitset test by {@code PermissionValidationService.hasAny}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@PreAuthorize("@permissionValidationService.hasAny(authentication, '{value}')")
+public @interface RequiresAuthority {
+
+    String value();
+}
@@ -1,18 +1,24 @@
 package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import pe.edu.vallegrande.vgmsdistribution.application.config.AuthCacheConfig;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.service.JwtService;
+import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -26,9 +32,13 @@ import java.util.Set;
 public class SecurityConfig {
     
     private final JwtService jwtService;
+    private final AuthCacheConfig authCacheConfig;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfig(JwtService jwtService) {
+    public SecurityConfig(JwtService jwtService, AuthCacheConfig authCacheConfig, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
+        this.authCacheConfig = authCacheConfig;
+        this.meterRegistry = meterRegistry;
     }
 
     // JwtDecoder beans moved to JwtConfig
@@ -107,7 +117,7 @@ public class SecurityConfig {
     // JwtDecoder beans moved to JwtConfig
     
     @Bean
-    public ReactiveJwtAuthenticationConverterAdapter jwtAuthenticationConverter() {
+    public Converter<Jwt, Mono<AbstractAuthenticationToken>> jwtAuthenticationConverter() {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
         converter.setJwtGrantedAuthoritiesConverter(jwt -> {
             Set<GrantedAuthority> authorities = new HashSet<>();
@@ -136,11 +146,29 @@ public class SecurityConfig {
                 }); 
             } 
             
-            log.info("Usuario {} autenticado con {} authorities", jwt.getSubject(), authorities.size()); 
+            log.debug("Usuario {} autenticado con {} authorities", jwt.getSubject(), authorities.size()); 
             return authorities; 
         }); 
         
-        return new ReactiveJwtAuthenticationConverterAdapter(converter); 
+        // Las authorities se internan en un bitset al autenticar, para verificarlas con operaciones de bits
+        Converter<Jwt, AbstractAuthenticationToken> interning = jwt -> {
+            AbstractAuthenticationToken token = converter.convert(jwt);
+            return new InternedJwtAuthenticationToken(jwt, token.getAuthorities(), token.getName());
+        };
+
+        // Las authorities de un mismo token se calculan una sola vez hasta su expiración
+        if (authCacheConfig.isEnabled()) {
+            return new CachingJwtAuthenticationConverter(interning, authCacheConfig, meterRegistry);
+        }
+        return new ReactiveJwtAuthenticationConverterAdapter(interning); 
+    }
+
+    /**
+     * Habilita los parámetros {value} en anotaciones compuestas como @RequiresAuthority
+     */
+    @Bean
+    static AnnotationTemplateExpressionDefaults annotationTemplateExpressionDefaults() {
+        return new AnnotationTemplateExpressionDefaults();
     }
 
     /** 
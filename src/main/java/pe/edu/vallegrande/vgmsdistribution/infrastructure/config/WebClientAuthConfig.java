@@ -1,15 +1,28 @@
 package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @Slf4j
@@ -71,4 +84,95 @@ public class WebClientAuthConfig {
                 .build();
     }
 
+    /**
+     * WebClient para MS-USERS. Propaga el JWT de la petición y, fuera de una petición
+     * (tareas en segundo plano), usa el token de servicio configurado si está habilitado.
+     */
+    @Bean("msUsersWebClient")
+    public WebClient msUsersWebClient(MsUsersConfig msUsersConfig,
+                                      @Qualifier("msUsersConnectionProvider") ConnectionProvider connectionProvider,
+                                      MsUsersLoadBalancer loadBalancer) {
+        return authenticatedWebClientBuilder().clone()
+                .clientConnector(connector(connectionProvider, msUsersConfig))
+                // Tras el filtro del JWT: solo completa las peticiones que siguen sin Authorization
+                .filter(serviceToken(msUsersConfig.getAuth()))
+                // Último filtro: reparte la petición ya autenticada entre las instancias
+                .filter(loadBalancer)
+                .baseUrl(msUsersConfig.getBaseUrl())
+                .defaultHeader("Content-Type", "application/json")
+                .defaultHeader("Accept", "application/json")
+                .build();
+    }
+
+    /**
+     * Agrega el token de servicio cuando no hubo contexto de seguridad del cual
+     * propagar el JWT. Un header por defecto se aplicaría antes de los filtros y
+     * ocultaría siempre el token del usuario
+     */
+    private static ExchangeFilterFunction serviceToken(MsUsersConfig.Auth auth) {
+        return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
+            if (!auth.isEnabled() || auth.getToken() == null || auth.getToken().isBlank()
+                    || clientRequest.headers().containsKey(HttpHeaders.AUTHORIZATION)) {
+                return Mono.just(clientRequest);
+            }
+            return Mono.just(ClientRequest.from(clientRequest)
+                    .header(HttpHeaders.AUTHORIZATION, auth.getType() + " " + auth.getToken())
+                    .build());
+        });
+    }
+
+    /**
+     * WebClient para el microservicio de organizaciones, con su propio pool de conexiones
+     */
+    @Bean("organizationWebClient")
+    public WebClient organizationWebClient(MsUsersConfig msUsersConfig,
+                                           @Qualifier("organizationConnectionProvider") ConnectionProvider connectionProvider,
+                                           @Value("${microservices.organization.url}") String organizationServiceUrl) {
+        return authenticatedWebClientBuilder().clone()
+                .clientConnector(connector(connectionProvider, msUsersConfig))
+                .baseUrl(organizationServiceUrl)
+                .defaultHeader("Accept", "application/json")
+                .build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider msUsersConnectionProvider(MsUsersConfig msUsersConfig) {
+        return connectionProvider("ms-users", msUsersConfig.getPool());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider organizationConnectionProvider(MsUsersConfig msUsersConfig) {
+        return connectionProvider("organization", msUsersConfig.getPool());
+    }
+
+    /**
+     * Pool de conexiones keep-alive de un servicio; sus métricas se publican en Micrometer
+     * con el nombre del pool como etiqueta
+     */
+    private static ConnectionProvider connectionProvider(String name, MsUsersConfig.Pool pool) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeout()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTime()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTime()))
+                .evictInBackground(Duration.ofMillis(pool.getEvictInBackground()))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Conector con los timeouts de MsUsersConfig: conexión, tiempo total de respuesta
+     * y timeouts de lectura/escritura por canal
+     */
+    private static ReactorClientHttpConnector connector(ConnectionProvider connectionProvider, MsUsersConfig config) {
+        MsUsersConfig.Timeout timeout = config.getTimeout();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout.getConnection())
+                .responseTimeout(Duration.ofMillis(timeout.getRead()))
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(timeout.getRead(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(timeout.getWrite(), TimeUnit.MILLISECONDS)));
+        return new ReactorClientHttpConnector(httpClient);
+    }
 }
@@ -0,0 +1,29 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTransitionRequest {
+
+    private String targetStatus; // IN_PROGRESS, COMPLETED or CANCELLED
+
+    // Either explicit ids...
+    private List<String> ids;
+
+    // ...or a filter; organizationId is required when no ids are given
+    private String organizationId;
+    private LocalDate programDate;
+    private String zoneId;
+
+    private String time;         // HH:mm, defaults to the current time
+    private String observations;
+}
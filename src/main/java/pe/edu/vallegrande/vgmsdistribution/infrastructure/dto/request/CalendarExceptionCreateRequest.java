@@ -0,0 +1,23 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarExceptionCreateRequest {
+
+    private String organizationId;
+    private String zoneId;            // Opcional: si es null aplica a toda la organización
+    private LocalDate exceptionDate;
+    private String exceptionType;     // SUSPENDED, SHIFTED
+    private String shiftedStartTime;  // Formato HH:mm
+    private String shiftedEndTime;    // Formato HH:mm
+    private String reason;
+}
@@ -0,0 +1,16 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProgramTransitionRequest {
+
+    private String time;         // HH:mm, defaults to the current time
+    private String observations; // Optional note stored with the transition
+}
@@ -0,0 +1,24 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One NDJSON line of a telemetry batch; a reading refers to a program, a zone or both
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryReadingRequest {
+    private String organizationId;
+    private String deviceId;
+    private String kind;
+    private String programId;
+    private String zoneId;
+    private Instant timestamp; // Defaults to the time of arrival
+    private Double value;
+    private String unit;
+}
@@ -0,0 +1,36 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTransitionResponse {
+
+    public static final String APPLIED = "APPLIED";
+    public static final String REJECTED = "REJECTED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    private String batchId;
+    private String targetStatus;
+    private int requested;
+    private int applied;
+    private List<Outcome> outcomes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Outcome {
+        private String programId;
+        private String result; // APPLIED, REJECTED, NOT_FOUND
+        private String status; // Status after the batch
+        private String reason;
+    }
+}
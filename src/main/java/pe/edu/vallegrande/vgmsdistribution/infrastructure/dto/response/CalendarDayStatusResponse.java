@@ -0,0 +1,24 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarDayStatusResponse {
+
+    private String organizationId;
+    private String zoneId;
+    private LocalDate date;
+    private boolean suspended;
+    private boolean shifted;
+    private String shiftedStartTime;
+    private String shiftedEndTime;
+    private String reason;
+}
@@ -0,0 +1,91 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything the daily operations screen needs for one organization and date,
+ * already joined. Parts that timed out are listed in {@code unavailableParts}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DayPlanResponse {
+
+    private String organizationId;
+    private LocalDate date;
+    private List<ProgramItem> programs;
+    private List<ScheduleItem> schedules; // Active schedules running on the date
+    private List<RouteItem> routes;
+    private FareItem currentFare;
+    private List<String> unavailableParts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ProgramItem {
+        private String id;
+        private String programCode;
+        private String status;
+        private String zoneId;
+        private String streetId;
+        private String plannedStartTime;
+        private String plannedEndTime;
+        private String actualStartTime;
+        private String actualEndTime;
+        private String responsibleUserId;
+        private String scheduleId;
+        private String scheduleName;
+        private String routeId;
+        private String routeName;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ScheduleItem {
+        private String id;
+        private String scheduleCode;
+        private String scheduleName;
+        private String zoneId;
+        private String streetId;
+        private String startTime;
+        private String endTime;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RouteItem {
+        private String id;
+        private String routeCode;
+        private String routeName;
+        private String zones;
+        private String responsibleUserId;
+        private String status;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FareItem {
+        private String id;
+        private String fareCode;
+        private String fareName;
+        private String fareType;
+        private BigDecimal fareAmount;
+        private Instant effectiveDate;
+    }
+}
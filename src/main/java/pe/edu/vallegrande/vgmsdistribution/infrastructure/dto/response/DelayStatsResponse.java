@@ -0,0 +1,31 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DelayStatsResponse {
+
+    private String organizationId;
+    private String scope;   // ROUTE, ZONE
+    private String scopeId;
+    private Metric startDelay;
+    private Metric durationOverrun;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Metric {
+        private long samples;
+        private double ewmaMinutes;
+        private double p50Minutes;
+        private double p90Minutes;
+        private boolean anomalous;
+    }
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -19,6 +20,8 @@ public class DistributionProgramResponse {
     private String programCode;
     private String scheduleId;
     private String routeId;
+    private String scheduleName;
+    private String routeName;
     private String zoneId;
     private String streetId;
     private LocalDate programDate;
@@ -28,6 +31,9 @@ public class DistributionProgramResponse {
     private String actualEndTime;
     private String status;
     private String responsibleUserId;
+    private String responsibleUserName;
     private String observations;
+    private Boolean overdue;
     private Instant createdAt;
+    private List<String> conflictingProgramIds; // Overlapping programs of the same responsible user
 }
\ No newline at end of file
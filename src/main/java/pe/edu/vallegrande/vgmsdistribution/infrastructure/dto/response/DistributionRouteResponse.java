@@ -16,6 +16,7 @@ public class DistributionRouteResponse {
     private String routeName;
     private String zoneId;
     private Integer totalEstimatedDuration;
+    private DurationEstimateResponse learnedDuration; // From completed programs, null until enough samples
     private String responsibleUserId;
     private String status;
     private Instant createdAt;
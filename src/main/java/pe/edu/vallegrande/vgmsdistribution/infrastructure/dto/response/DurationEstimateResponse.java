@@ -0,0 +1,22 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DurationEstimateResponse {
+
+    private String organizationId;
+    private String scope;   // ROUTE, ZONE
+    private String scopeId;
+    private long samples;
+    private double meanMinutes;
+    private double stdDevMinutes;
+    private double p50Minutes;
+    private double p90Minutes;
+}
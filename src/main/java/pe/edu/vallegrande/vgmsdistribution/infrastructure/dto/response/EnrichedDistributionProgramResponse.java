@@ -8,6 +8,7 @@ import pe.edu.vallegrande.vgmsdistribution.infrastructure.service.OrganizationSe
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -21,6 +22,8 @@ public class EnrichedDistributionProgramResponse {
     private String programCode;
     private String scheduleId;
     private String routeId;
+    private String scheduleName;
+    private String routeName;
     private String zoneId;
     private String streetId;
     private LocalDate programDate;
@@ -30,6 +33,8 @@ public class EnrichedDistributionProgramResponse {
     private String actualEndTime;
     private String status;
     private String responsibleUserId;
+    private String responsibleUserName;
     private String observations;
     private Instant createdAt;
+    private List<String> conflictingProgramIds; // Overlapping programs of the same responsible user
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IntegrityReportResponse {
+
+    private Instant startedAt;
+    private long durationMillis;
+    private boolean repair;
+    private List<ReferenceCheck> checks;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ReferenceCheck {
+        private String field;            // scheduleId or routeId
+        private long programsChecked;    // Programs carrying the reference
+        private long orphans;            // References to missing documents
+        private long repaired;           // Orphans detached in repair mode
+        private List<String> sampleOrphanProgramIds;
+    }
+}
@@ -0,0 +1,24 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NextWindowResponse {
+
+    private String organizationId;
+    private String zoneId;
+    private String streetId;
+    private String scheduleName;
+    private OffsetDateTime start;
+    private OffsetDateTime end;
+    private boolean inProgress;
+    private boolean shifted;   // el día tiene un horario modificado en el calendario de excepciones
+}
@@ -0,0 +1,25 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProgramConflictResponse {
+
+    private String responsibleUserId;
+    private LocalDate programDate;
+    private String programId;
+    private String programCode;
+    private String conflictingProgramId;
+    private String conflictingProgramCode;
+    private String overlapStart; // HH:mm
+    private String overlapEnd;   // HH:mm
+    private long overlapMinutes;
+}
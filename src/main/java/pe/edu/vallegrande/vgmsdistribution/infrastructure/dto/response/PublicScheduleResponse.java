@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PublicScheduleResponse {
+
+    private String organizationId;
+    private String zoneId;
+    private String streetId;
+    private String timeZone;
+    private List<Window> windows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Window {
+        private String scheduleCode;
+        private String streetId;
+        private String scheduleName;
+        private List<String> daysOfWeek; // MONDAY..SUNDAY
+        private String startTime;
+        private String endTime;
+    }
+}
@@ -0,0 +1,20 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TelemetryIngestResponse {
+    private long accepted;
+    private long rejected;
+    private List<String> errors; // First few validation errors, by line number
+    private Long retryFromLine;     // Set when the queue filled up: this line and the rest were not read
+    private Integer retryAfterSeconds;
+}
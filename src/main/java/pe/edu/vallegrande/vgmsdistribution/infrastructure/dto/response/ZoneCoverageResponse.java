@@ -0,0 +1,49 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ZoneCoverageResponse {
+
+    private String organizationId;
+    private List<AreaCoverage> zones;
+    private List<AreaCoverage> streets;
+    private Instant computedAt;
+    private long computeMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AreaCoverage {
+        private String zoneId;
+        private String streetId;
+        private int scheduleCount;
+        private int coveredHours;     // horas por semana con servicio
+        private int uncoveredHours;
+        private int overlapHours;     // horas cubiertas por dos o más horarios
+        private List<CoverageWindow> gaps;
+        private List<CoverageWindow> overlaps;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CoverageWindow {
+        private String fromDay;
+        private int fromHour;
+        private String toDay;
+        private int toHour;
+        private int hours;
+    }
+}
@@ -0,0 +1,15 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CalendarException;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface CalendarExceptionRepository extends ReactiveMongoRepository<CalendarException, String> {
+
+    Flux<CalendarException> findAllByOrganizationId(String organizationId);
+
+    Flux<CalendarException> findAllByOrganizationIdAndStatus(String organizationId, String status);
+}
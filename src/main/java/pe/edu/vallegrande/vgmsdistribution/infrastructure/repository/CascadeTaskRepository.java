@@ -0,0 +1,14 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CascadeTask;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface CascadeTaskRepository extends ReactiveMongoRepository<CascadeTask, String> {
+
+    Flux<CascadeTask> findAllByStatusOrderByCreatedAtDesc(String status);
+
+    Flux<CascadeTask> findAllBySourceIdOrderByCreatedAtDesc(String sourceId);
+}
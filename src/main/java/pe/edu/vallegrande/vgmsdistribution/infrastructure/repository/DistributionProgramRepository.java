@@ -5,12 +5,24 @@ import org.springframework.stereotype.Repository;
 import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
 @Repository
-public interface DistributionProgramRepository extends ReactiveMongoRepository<DistributionProgram, String> {
+public interface DistributionProgramRepository extends ReactiveMongoRepository<DistributionProgram, String>,
+        DistributionProgramRepositoryCustom {
 
     Flux<DistributionProgram> findAllByStatus(String status);
 
     Mono<DistributionProgram> findFirstByProgramCode(String programCode);
 
     Mono<DistributionProgram> findTopByOrderByProgramCodeDesc();
+
+    Flux<DistributionProgram> findAllByOrganizationIdAndProgramDate(String organizationId, LocalDate programDate);
+
+    Flux<DistributionProgram> findAllByResponsibleUserIdAndProgramDate(String responsibleUserId, LocalDate programDate);
+
+    Flux<DistributionProgram> findAllByOrganizationIdAndProgramDateGreaterThanEqual(String organizationId, LocalDate from);
+
+    Flux<DistributionProgram> findAllByOrganizationIdAndProgramDateGreaterThanEqualAndProgramDateLessThan(
+            String organizationId, LocalDate from, LocalDate to);
 }
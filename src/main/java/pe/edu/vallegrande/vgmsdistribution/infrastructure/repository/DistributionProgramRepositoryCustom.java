@@ -0,0 +1,76 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.repository;
+
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.ProgramStatus;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+public interface DistributionProgramRepositoryCustom {
+
+    /**
+     * Moves the program to {@code target} in a single findAndModify guarded by the
+     * allowed source states, setting {@code fields} in the same update.
+     * Completes empty when the program does not exist or is not in an allowed state.
+     */
+    Mono<DistributionProgram> transition(String id, ProgramStatus target, Map<String, Object> fields);
+
+    /**
+     * Writes a status outside the program lifecycle (the legacy ACTIVE and INACTIVE) with
+     * the same guard: empty when the program does not exist or is not in {@code allowedSources}
+     */
+    Mono<DistributionProgram> setStatus(String id, String status, Collection<String> allowedSources);
+
+    /**
+     * Sets the given fields (null values are unset) only while the program is still in
+     * {@code expectedStatus}; empty when the status changed in the meantime
+     */
+    Mono<DistributionProgram> updateFields(String id, String expectedStatus, Map<String, Object> fields);
+
+    /**
+     * Same guarded transition for many programs in one updateMany. Every moved
+     * document is tagged with {@code batchId}; returns the number moved.
+     */
+    Mono<Long> transitionAll(Collection<String> ids, ProgramStatus target, Map<String, Object> fields, String batchId);
+
+    /**
+     * Ids of the programs matching the filter; date and zone are optional
+     */
+    Flux<String> findIdsByFilter(String organizationId, LocalDate programDate, String zoneId);
+
+    /**
+     * Completes, or only flags as overdue, every IN_PROGRESS program whose planned
+     * end is before {@code cutoff}, in one bulk update. Returns the number modified.
+     */
+    Mono<Long> closeOverdue(Instant cutoff, boolean complete);
+
+    /**
+     * Programs written before plannedEndAt existed and that have a planned end time
+     */
+    Flux<DistributionProgram> findMissingPlannedEndAt();
+
+    /**
+     * Sets plannedEndAt on each program id in one unordered bulk write
+     */
+    Mono<Long> setPlannedEndAt(Map<String, Instant> plannedEndAtById);
+
+    /**
+     * Moves up to {@code batchSize} programs dated before {@code cutoff} into the
+     * archive collection: copies are upserted first and the originals deleted after,
+     * so a batch interrupted in between is simply redone. An original is deleted only
+     * while it still equals its copy; one written in between is left for the next run.
+     * Returns the number moved.
+     */
+    Mono<Long> archiveBatch(LocalDate cutoff, int batchSize);
+
+    /**
+     * Archived programs of an organization; both dates are optional and inclusive
+     */
+    Flux<DistributionProgram> findArchived(String organizationId, LocalDate from, LocalDate to);
+
+    Mono<DistributionProgram> findArchivedById(String id);
+}
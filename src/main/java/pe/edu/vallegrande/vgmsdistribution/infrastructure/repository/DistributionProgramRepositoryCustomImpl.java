@@ -0,0 +1,185 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.ProgramStatus;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class DistributionProgramRepositoryCustomImpl implements DistributionProgramRepositoryCustom {
+
+    public static final String ARCHIVE_COLLECTION = "programs_archive";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<DistributionProgram> transition(String id, ProgramStatus target, Map<String, Object> fields) {
+        Query query = Query.query(Criteria.where("_id").is(id)
+                .and("status").in(target.allowedSources()));
+        Update update = Update.update("status", target.name());
+        fields.forEach(update::set);
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), DistributionProgram.class);
+    }
+
+    @Override
+    public Mono<DistributionProgram> setStatus(String id, String status, Collection<String> allowedSources) {
+        Query query = Query.query(Criteria.where("_id").is(id)
+                .and("status").in(allowedSources));
+        return mongoTemplate.findAndModify(query, Update.update("status", status),
+                FindAndModifyOptions.options().returnNew(true), DistributionProgram.class);
+    }
+
+    @Override
+    public Mono<DistributionProgram> updateFields(String id, String expectedStatus, Map<String, Object> fields) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("status").is(expectedStatus));
+        Update update = new Update();
+        fields.forEach((field, value) -> {
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        });
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), DistributionProgram.class);
+    }
+
+    @Override
+    public Mono<Long> transitionAll(Collection<String> ids, ProgramStatus target, Map<String, Object> fields, String batchId) {
+        Query query = Query.query(Criteria.where("_id").in(ids)
+                .and("status").in(target.allowedSources()));
+        Update update = Update.update("status", target.name())
+                .set("transitionBatchId", batchId);
+        fields.forEach(update::set);
+        return mongoTemplate.updateMulti(query, update, DistributionProgram.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    @Override
+    public Flux<String> findIdsByFilter(String organizationId, LocalDate programDate, String zoneId) {
+        Criteria criteria = Criteria.where("organizationId").is(organizationId);
+        if (programDate != null) {
+            criteria = criteria.and("programDate").is(programDate);
+        }
+        if (zoneId != null) {
+            criteria = criteria.and("zoneId").is(zoneId);
+        }
+        Query query = Query.query(criteria);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, DistributionProgram.class)
+                .map(DistributionProgram::getId);
+    }
+
+    @Override
+    public Mono<Long> closeOverdue(Instant cutoff, boolean complete) {
+        Criteria criteria = Criteria.where("status").is(ProgramStatus.IN_PROGRESS.name())
+                .and("plannedEndAt").lt(cutoff);
+        if (complete) {
+            // Pipeline update so the planned end can be copied into actualEndTime server-side
+            AggregationUpdate update = AggregationUpdate.update()
+                    .set("status").toValue(ProgramStatus.COMPLETED.name())
+                    .set("actualEndTime").toValueOf(Fields.field("plannedEndTime"))
+                    .set("overdue").toValue(true);
+            return mongoTemplate.updateMulti(Query.query(criteria), update, DistributionProgram.class)
+                    .map(UpdateResult::getModifiedCount);
+        }
+        criteria = criteria.and("overdue").ne(true);
+        return mongoTemplate.updateMulti(Query.query(criteria), Update.update("overdue", true), DistributionProgram.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    @Override
+    public Flux<DistributionProgram> findMissingPlannedEndAt() {
+        Query query = Query.query(Criteria.where("plannedEndAt").exists(false)
+                .and("programDate").ne(null)
+                .and("plannedEndTime").ne(null));
+        query.fields().include("_id", "programDate", "plannedStartTime", "plannedEndTime");
+        return mongoTemplate.find(query, DistributionProgram.class);
+    }
+
+    @Override
+    public Mono<Long> setPlannedEndAt(Map<String, Instant> plannedEndAtById) {
+        if (plannedEndAtById.isEmpty()) {
+            return Mono.just(0L);
+        }
+        ReactiveBulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DistributionProgram.class);
+        plannedEndAtById.forEach((id, plannedEndAt) -> updates.updateOne(
+                Query.query(Criteria.where("_id").is(id)), Update.update("plannedEndAt", plannedEndAt)));
+        return updates.execute()
+                .map(result -> (long) result.getModifiedCount());
+    }
+
+    @Override
+    public Mono<Long> archiveBatch(LocalDate cutoff, int batchSize) {
+        Query select = Query.query(Criteria.where("programDate").lt(cutoff))
+                .with(Sort.by("programDate"))
+                .limit(batchSize);
+        // Raw documents, so fields unknown to the model survive the move
+        return mongoTemplate.find(select, Document.class, mongoTemplate.getCollectionName(DistributionProgram.class))
+                .collectList()
+                .flatMap(batch -> {
+                    if (batch.isEmpty()) {
+                        return Mono.just(0L);
+                    }
+                    Instant archivedAt = Instant.now();
+                    String collection = mongoTemplate.getCollectionName(DistributionProgram.class);
+                    ReactiveBulkOperations copies = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ARCHIVE_COLLECTION);
+                    ReactiveBulkOperations originals = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                    batch.forEach(document -> {
+                        copies.replaceOne(
+                                Query.query(Criteria.where("_id").is(document.get("_id"))),
+                                new Document(document).append("archivedAt", archivedAt),
+                                FindAndReplaceOptions.options().upsert());
+                        // Only the exact state that was copied is deleted; a program written in
+                        // between stays and is copied again, newer version included, next run
+                        originals.remove(new BasicQuery(new Document("_id", document.get("_id"))
+                                .append("$expr", new Document("$eq",
+                                        List.of("$$ROOT", new Document("$literal", document))))));
+                    });
+                    return copies.execute()
+                            .then(originals.execute())
+                            .map(result -> (long) result.getDeletedCount());
+                });
+    }
+
+    @Override
+    public Flux<DistributionProgram> findArchived(String organizationId, LocalDate from, LocalDate to) {
+        Criteria criteria = Criteria.where("organizationId").is(organizationId);
+        if (from != null && to != null) {
+            criteria = criteria.and("programDate").gte(from).lte(to);
+        } else if (from != null) {
+            criteria = criteria.and("programDate").gte(from);
+        } else if (to != null) {
+            criteria = criteria.and("programDate").lte(to);
+        }
+        Query query = Query.query(criteria).with(Sort.by("programDate", "plannedStartTime"));
+        return mongoTemplate.find(query, DistributionProgram.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Mono<DistributionProgram> findArchivedById(String id) {
+        return mongoTemplate.findById(id, DistributionProgram.class, ARCHIVE_COLLECTION);
+    }
+}
@@ -11,6 +11,8 @@ public interface DistributionRouteRepository extends ReactiveMongoRepository<Dis
 
     Flux<DistributionRoute> findAllByStatus(String status);
 
+    Flux<DistributionRoute> findAllByOrganizationId(String organizationId);
+
     Mono<Boolean> existsByRouteCode(String routeCode);
 
     Mono<DistributionRoute> findTopByOrderByRouteCodeDesc();
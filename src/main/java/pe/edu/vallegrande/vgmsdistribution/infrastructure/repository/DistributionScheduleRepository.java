@@ -11,6 +11,8 @@ public interface DistributionScheduleRepository extends ReactiveMongoRepository<
 
     Flux<DistributionSchedule> findAllByStatus(String status);
 
+    Flux<DistributionSchedule> findAllByOrganizationIdAndStatus(String organizationId, String status);
+
     Mono<Boolean> existsByScheduleCode(String scheduleCode);
 
     Mono<DistributionSchedule> findTopByOrderByScheduleCodeDesc();
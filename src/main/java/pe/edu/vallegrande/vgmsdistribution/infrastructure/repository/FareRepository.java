@@ -17,4 +17,6 @@ public interface FareRepository extends ReactiveMongoRepository<Fare, String> {
     Mono<Fare> findTopByOrderByFareCodeDesc(); // <- CORRECTO
     
     Flux<Fare> findByOrganizationIdAndStatusOrderByEffectiveDateDesc(String organizationId, String status);
+
+    Mono<Fare> findFirstByOrganizationIdAndStatusOrderByEffectiveDateDesc(String organizationId, String status);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.TelemetryRollup;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Repository
+public interface TelemetryRollupRepository extends ReactiveMongoRepository<TelemetryRollup, String> {
+
+    Flux<TelemetryRollup> findAllByDeviceIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+            String deviceId, String granularity, Instant from, Instant to);
+}
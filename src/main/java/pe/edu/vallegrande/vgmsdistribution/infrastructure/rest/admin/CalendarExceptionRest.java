@@ -0,0 +1,91 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.admin;
+
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.services.CalendarExceptionService;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CalendarException;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ErrorMessage;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.CalendarExceptionCreateRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.CalendarDayStatusResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/calendar-exceptions")
+@AllArgsConstructor
+public class CalendarExceptionRest {
+
+    private final CalendarExceptionService service;
+
+    @GetMapping
+    public Mono<ResponseDto<List<CalendarException>>> getAllByOrganization(@RequestParam String organizationId) {
+        return service.getAllByOrganization(organizationId)
+                .collectList()
+                .map(result -> new ResponseDto<>(true, result));
+    }
+
+    @GetMapping("/check")
+    public Mono<ResponseDto<CalendarDayStatusResponse>> getDayStatus(
+            @RequestParam String organizationId,
+            @RequestParam(required = false) String zoneId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return service.getDayStatus(organizationId, zoneId, date)
+                .map(result -> new ResponseDto<>(true, result))
+                .onErrorResume(e -> Mono.just(
+                        new ResponseDto<>(false,
+                                new ErrorMessage(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                                        "Calendar check failed",
+                                        e.getMessage()))));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseDto<CalendarException>> getById(@PathVariable String id) {
+        return service.getById(id)
+                .map(result -> new ResponseDto<>(true, result))
+                .onErrorResume(e -> Mono.just(
+                        new ResponseDto<>(false,
+                                new ErrorMessage(HttpStatus.NOT_FOUND.value(),
+                                        "Calendar exception not found",
+                                        e.getMessage()))));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseDto<CalendarException>> create(@RequestBody CalendarExceptionCreateRequest request) {
+        return service.save(request)
+                .map(saved -> new ResponseDto<>(true, saved))
+                .onErrorResume(e -> Mono.just(
+                        new ResponseDto<>(false,
+                                new ErrorMessage(HttpStatus.BAD_REQUEST.value(),
+                                        "Validation error",
+                                        e.getMessage()))));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseDto<CalendarException>> update(@PathVariable String id, @RequestBody CalendarExceptionCreateRequest request) {
+        return service.update(id, request)
+                .map(updated -> new ResponseDto<>(true, updated))
+                .onErrorResume(e -> Mono.just(
+                        new ResponseDto<>(false,
+                                new ErrorMessage(HttpStatus.BAD_REQUEST.value(),
+                                        "Update failed",
+                                        e.getMessage()))));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<ResponseDto<Object>> delete(@PathVariable String id) {
+        return service.delete(id)
+                .thenReturn(new ResponseDto<>(true, null))
+                .onErrorResume(e -> Mono.just(
+                        new ResponseDto<>(false,
+                                new ErrorMessage(HttpStatus.BAD_REQUEST.value(),
+                                        "Delete failed",
+                                        e.getMessage()))));
+    }
+}
@@ -0,0 +1,32 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.admin;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.services.CascadeTaskService;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.CascadeTask;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cascade-tasks")
+@RequiredArgsConstructor
+public class CascadeTaskRest {
+
+    private final CascadeTaskService cascadeTaskService;
+
+    @GetMapping
+    public Mono<ResponseDto<List<CascadeTask>>> getAll(@RequestParam(required = false) String status,
+                                                       @RequestParam(required = false) String sourceId) {
+        return cascadeTaskService.getAll(status, sourceId)
+                .collectList()
+                .map(list -> new ResponseDto<>(true, list));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseDto<CascadeTask>> getById(@PathVariable String id) {
+        return cascadeTaskService.getById(id)
+                .map(task -> new ResponseDto<>(true, task));
+    }
+}
@@ -0,0 +1,33 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.admin;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.services.DelayAnalyticsService;
+import pe.edu.vallegrande.vgmsdistribution.domain.events.DelayAnomalyEvent;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DelayStatsResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/analytics/delays")
+@RequiredArgsConstructor
+public class DelayAnalyticsRest {
+
+    private final DelayAnalyticsService delayAnalyticsService;
+
+    @GetMapping
+    public Mono<ResponseDto<List<DelayStatsResponse>>> getStats(@RequestParam String organizationId) {
+        return delayAnalyticsService.getStats(organizationId)
+                .collectList()
+                .map(list -> new ResponseDto<>(true, list));
+    }
+
+    @GetMapping("/anomalies")
+    public Mono<ResponseDto<List<DelayAnomalyEvent>>> getAnomalies(@RequestParam String organizationId) {
+        return delayAnalyticsService.getRecentAnomalies(organizationId)
+                .collectList()
+                .map(list -> new ResponseDto<>(true, list));
+    }
+}
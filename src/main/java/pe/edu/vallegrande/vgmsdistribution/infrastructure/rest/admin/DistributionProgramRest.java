@@ -1,16 +1,25 @@
 package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.admin;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
 import pe.edu.vallegrande.vgmsdistribution.application.services.DistributionProgramService;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ErrorMessage;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.BatchTransitionRequest;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.DistributionProgramCreateRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.ProgramTransitionRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.BatchTransitionResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DistributionProgramResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.EnrichedDistributionProgramResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ProgramConflictResponse;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,6 +28,7 @@ import java.util.List;
 public class DistributionProgramRest {
 
     private final DistributionProgramService programService;
+    private final DistributionConfig config;
 
     @GetMapping
     public Mono<ResponseDto<List<DistributionProgramResponse>>> getAll() {
@@ -35,6 +45,49 @@ public class DistributionProgramRest {
                 .map(list -> new ResponseDto<>(true, list));
     }
 
+    // Programs assigned to the authenticated operator, today by default
+    @GetMapping("/mine")
+    public Mono<ResponseDto<List<DistributionProgramResponse>>> getMine(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        if (jwt == null) {
+            return Mono.just(new ResponseDto<>(false,
+                    new ErrorMessage(HttpStatus.UNAUTHORIZED.value(), "Unauthenticated", "A bearer token is required")));
+        }
+        LocalDate day = date != null ? date : LocalDate.now(config.zoneId());
+        return programService.getMine(jwt.getSubject(), day)
+                .map(list -> new ResponseDto<>(true, list))
+                .onErrorResume(e -> Mono.just(new ResponseDto<>(false,
+                        new ErrorMessage(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to load assigned programs", e.getMessage()))));
+    }
+
+    @GetMapping("/conflicts")
+    public Mono<ResponseDto<List<ProgramConflictResponse>>> getConflicts(
+            @RequestParam String organizationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart) {
+        return programService.getConflicts(organizationId, weekStart)
+                .map(list -> new ResponseDto<>(true, list))
+                .onErrorResume(e -> Mono.just(new ResponseDto<>(false,
+                        new ErrorMessage(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Conflict report failed", e.getMessage()))));
+    }
+
+    // Programs older than the retention window, read from the archive collection
+    @GetMapping("/archive")
+    public Mono<ResponseDto<List<DistributionProgramResponse>>> getArchived(
+            @RequestParam String organizationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return programService.getArchived(organizationId, from, to)
+                .collectList()
+                .map(list -> new ResponseDto<>(true, list));
+    }
+
+    @GetMapping("/archive/{id}")
+    public Mono<ResponseDto<DistributionProgramResponse>> getArchivedById(@PathVariable String id) {
+        return programService.getArchivedById(id)
+                .map(program -> new ResponseDto<>(true, program));
+    }
+
     @GetMapping("/{id}")
     public Mono<ResponseDto<DistributionProgramResponse>> getById(@PathVariable String id) {
         return programService.getById(id)
@@ -94,4 +147,39 @@ public class DistributionProgramRest {
                 .onErrorResume(e -> Mono.just(new ResponseDto<>(false,
                         new ErrorMessage(HttpStatus.BAD_REQUEST.value(), "Deactivation failed", e.getMessage()))));
     }
+
+    @PatchMapping("/{id}/start")
+    public Mono<ResponseDto<DistributionProgramResponse>> start(@PathVariable String id,
+                                                                @RequestBody(required = false) ProgramTransitionRequest request) {
+        return programService.start(id, request)
+                .map(data -> new ResponseDto<>(true, data));
+    }
+
+    @PatchMapping("/{id}/complete")
+    public Mono<ResponseDto<DistributionProgramResponse>> complete(@PathVariable String id,
+                                                                   @RequestBody(required = false) ProgramTransitionRequest request) {
+        return programService.complete(id, request)
+                .map(data -> new ResponseDto<>(true, data));
+    }
+
+    @PatchMapping("/{id}/cancel")
+    public Mono<ResponseDto<DistributionProgramResponse>> cancel(@PathVariable String id,
+                                                                 @RequestBody(required = false) ProgramTransitionRequest request) {
+        return programService.cancel(id, request)
+                .map(data -> new ResponseDto<>(true, data));
+    }
+
+    @PostMapping("/transitions")
+    public Mono<ResponseDto<BatchTransitionResponse>> transitionBatch(@RequestBody BatchTransitionRequest request) {
+        return programService.transitionBatch(request)
+                .map(data -> new ResponseDto<>(true, data));
+    }
+
+    // Hook for MS-USERS (or an admin) to signal that a user's display data changed
+    @PostMapping("/read-model/users/{userId}/refresh")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<ResponseDto<Void>> refreshResponsibleUser(@PathVariable String userId) {
+        programService.refreshResponsibleUser(userId);
+        return Mono.just(new ResponseDto<>(true, null));
+    }
 }
\ No newline at end of file
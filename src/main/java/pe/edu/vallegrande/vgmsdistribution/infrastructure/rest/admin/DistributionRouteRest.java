@@ -9,6 +9,7 @@ import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ErrorMessage;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.DistributionRouteCreateRequest;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DistributionRouteResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DurationEstimateResponse;
 import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.EnrichedDistributionRouteResponse;
 import reactor.core.publisher.Mono;
 
@@ -36,6 +37,14 @@ public class DistributionRouteRest {
                 .map(routes -> new ResponseDto<>(true, routes));
     }
 
+    // Actual durations learned from completed programs, per route and per zone
+    @GetMapping("/duration-estimates")
+    public Mono<ResponseDto<List<DurationEstimateResponse>>> getDurationEstimates(@RequestParam String organizationId) {
+        return routeService.getDurationEstimates(organizationId)
+                .collectList()
+                .map(estimates -> new ResponseDto<>(true, estimates));
+    }
+
     @GetMapping("/active")
     public Mono<ResponseDto<List<DistributionRoute>>> getAllActive() {
         return routeService.getAllActive()
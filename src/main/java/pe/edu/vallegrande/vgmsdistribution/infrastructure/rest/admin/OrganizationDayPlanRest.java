@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.admin;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.services.DayPlanService;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ErrorMessage;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DayPlanResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/organizations")
+@RequiredArgsConstructor
+public class OrganizationDayPlanRest {
+
+    private final DayPlanService dayPlanService;
+    private final DistributionConfig config;
+
+    @GetMapping("/{organizationId}/day-plan")
+    public Mono<ResponseDto<DayPlanResponse>> getDayPlan(
+            @PathVariable String organizationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now(config.zoneId());
+        return dayPlanService.getDayPlan(organizationId, day)
+                .map(plan -> new ResponseDto<>(true, plan))
+                .onErrorResume(e -> Mono.just(new ResponseDto<>(false,
+                        new ErrorMessage(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Day plan failed", e.getMessage()))));
+    }
+}
@@ -0,0 +1,24 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.admin;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.services.ProgramIntegrityService;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.config.RequiresAuthority;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.IntegrityReportResponse;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/admin/integrity")
+@RequiredArgsConstructor
+public class ProgramIntegrityRest {
+
+    private final ProgramIntegrityService integrityService;
+
+    @PostMapping("/programs")
+    @RequiresAuthority("ADMIN")
+    public Mono<ResponseDto<IntegrityReportResponse>> checkPrograms(@RequestParam(defaultValue = "false") boolean repair) {
+        return integrityService.check(repair)
+                .map(report -> new ResponseDto<>(true, report));
+    }
+}
@@ -0,0 +1,29 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.admin;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.services.ZoneCoverageService;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ErrorMessage;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ZoneCoverageResponse;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/admin/coverage")
+@AllArgsConstructor
+public class ZoneCoverageRest {
+
+    private final ZoneCoverageService coverageService;
+
+    @GetMapping("/{organizationId}")
+    public Mono<ResponseDto<ZoneCoverageResponse>> getCoverage(@PathVariable String organizationId) {
+        return coverageService.getCoverage(organizationId)
+                .map(result -> new ResponseDto<>(true, result))
+                .onErrorResume(e -> Mono.just(
+                        new ResponseDto<>(false,
+                                new ErrorMessage(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                                        "Coverage computation failed",
+                                        e.getMessage()))));
+    }
+}
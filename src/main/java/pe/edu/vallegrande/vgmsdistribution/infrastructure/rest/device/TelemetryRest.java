@@ -0,0 +1,44 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.device;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.services.TelemetryService;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.TelemetryRollup;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.request.TelemetryReadingRequest;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.TelemetryIngestResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/telemetry")
+@RequiredArgsConstructor
+public class TelemetryRest {
+
+    private final TelemetryService telemetryService;
+
+    // One JSON reading per line; the body is decoded and stored as it streams in
+    @PostMapping(value = "/readings", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<ResponseDto<TelemetryIngestResponse>> ingest(@RequestBody Flux<TelemetryReadingRequest> readings) {
+        return telemetryService.ingest(readings)
+                .map(result -> new ResponseDto<>(true, result));
+    }
+
+    @GetMapping("/devices/{deviceId}/rollups")
+    public Mono<ResponseDto<List<TelemetryRollup>>> getRollups(
+            @PathVariable String deviceId,
+            @RequestParam(defaultValue = "MINUTE") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return telemetryService.getRollups(deviceId, granularity.toUpperCase(), from, to)
+                .collectList()
+                .map(list -> new ResponseDto<>(true, list));
+    }
+}
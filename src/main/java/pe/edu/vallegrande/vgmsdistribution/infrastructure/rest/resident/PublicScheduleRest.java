@@ -0,0 +1,91 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.rest.resident;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.application.services.PublicScheduleService;
+import pe.edu.vallegrande.vgmsdistribution.application.services.PublicScheduleService.View;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.NextWindowResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.PublicScheduleResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Read-only schedule endpoints for residents. Responses carry strong ETags and
+ * public Cache-Control headers so browsers and proxies can serve repeats.
+ */
+@RestController
+@RequestMapping("/api/public/organizations/{organizationId}/zones/{zoneId}")
+@AllArgsConstructor
+public class PublicScheduleRest {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final PublicScheduleService publicScheduleService;
+    private final DistributionConfig config;
+
+    @GetMapping("/schedule")
+    public Mono<ResponseEntity<ResponseDto<PublicScheduleResponse>>> getSchedule(
+            @PathVariable String organizationId,
+            @PathVariable String zoneId,
+            @RequestParam(required = false) String streetId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return publicScheduleService.getSchedule(organizationId, zoneId, streetId)
+                .map(view -> cacheable(view, ifNoneMatch, MediaType.APPLICATION_JSON, body -> new ResponseDto<>(true, body)));
+    }
+
+    @GetMapping("/next-window")
+    public Mono<ResponseEntity<ResponseDto<NextWindowResponse>>> getNextWindow(
+            @PathVariable String organizationId,
+            @PathVariable String zoneId,
+            @RequestParam(required = false) String streetId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return publicScheduleService.getNextWindow(organizationId, zoneId, streetId)
+                .map(view -> cacheable(view, ifNoneMatch, MediaType.APPLICATION_JSON, body -> new ResponseDto<>(true, body)));
+    }
+
+    @GetMapping(value = "/calendar.ics", produces = "text/calendar")
+    public Mono<ResponseEntity<String>> getCalendar(
+            @PathVariable String organizationId,
+            @PathVariable String zoneId,
+            @RequestParam(required = false) String streetId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return publicScheduleService.getCalendar(organizationId, zoneId, streetId)
+                .map(view -> cacheable(view, ifNoneMatch, TEXT_CALENDAR, Function.identity()));
+    }
+
+    private <T, B> ResponseEntity<B> cacheable(View<T> view, String ifNoneMatch, MediaType contentType, Function<T, B> body) {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(view.getMaxAgeSeconds()))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(config.getPublicApi().getStaleWhileRevalidateSeconds()));
+        if (matches(ifNoneMatch, view.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(view.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(view.getEtag())
+                .cacheControl(cacheControl)
+                .contentType(contentType)
+                .body(body.apply(view.getBody()));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+    }
+}
@@ -0,0 +1,95 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.service;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable set of authorities stored as a bitset. Every authority name is
+ * interned once into a bit position, so membership checks on the request path
+ * are a few word-wide AND operations instead of string comparisons.
+ */
+public final class AuthoritySet {
+
+    public static final AuthoritySet EMPTY = new AuthoritySet(new long[0]);
+
+    private static final Map<String, Integer> BITS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_BIT = new AtomicInteger();
+
+    private final long[] words;
+
+    private AuthoritySet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Interns the authorities granted at authentication time
+     */
+    public static AuthoritySet of(Collection<? extends GrantedAuthority> authorities) {
+        return ofNames(authorities.stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    /**
+     * Interns the given names; only for names from trusted sources such as
+     * verified tokens and annotations
+     */
+    public static AuthoritySet ofNames(Collection<String> names) {
+        long[] words = new long[0];
+        for (String name : names) {
+            if (name != null) {
+                words = set(words, BITS.computeIfAbsent(name, key -> NEXT_BIT.getAndIncrement()));
+            }
+        }
+        return new AuthoritySet(words);
+    }
+
+    /**
+     * Maps names to already interned bits, ignoring unknown ones. Safe for
+     * untrusted input: a name nobody requires can never match a requirement.
+     */
+    public static AuthoritySet lookup(Collection<String> names) {
+        long[] words = new long[0];
+        for (String name : names) {
+            Integer bit = name != null ? BITS.get(name) : null;
+            if (bit != null) {
+                words = set(words, bit);
+            }
+        }
+        return new AuthoritySet(words);
+    }
+
+    public boolean containsAny(AuthoritySet required) {
+        int shared = Math.min(words.length, required.words.length);
+        for (int i = 0; i < shared; i++) {
+            if ((words[i] & required.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean containsAll(AuthoritySet required) {
+        for (int i = 0; i < required.words.length; i++) {
+            long held = i < words.length ? words[i] : 0L;
+            if ((held & required.words[i]) != required.words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return Arrays.stream(words).allMatch(word -> word == 0L);
+    }
+
+    private static long[] set(long[] words, int bit) {
+        int index = bit >>> 6;
+        long[] target = index < words.length ? words : Arrays.copyOf(words, index + 1);
+        target[index] |= 1L << (bit & 63);
+        return target;
+    }
+}
@@ -0,0 +1,203 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.service;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.vgmsdistribution.application.config.JwtKeysConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory copy of the identity provider's JWKS. Token verification reads the
+ * cached keys; only a token signed with an unknown kid triggers a refresh, and
+ * those refreshes are shared between concurrent callers and throttled. A
+ * background check picks up rotations before tokens signed with new keys arrive.
+ *
+ * <p>When a bootstrap snapshot is configured the cache starts from it, so the
+ * service can verify tokens without reaching the identity provider at startup;
+ * the remote key set then replaces it in the background.</p>
+ */
+@Component
+@Slf4j
+public class JwksCache {
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final JwtKeysConfig config;
+    private final ResourceLoader resourceLoader;
+
+    private final AtomicReference<JWKSet> keys = new AtomicReference<>(new JWKSet());
+    private final AtomicReference<CompletableFuture<JWKSet>> pending = new AtomicReference<>();
+    private volatile long lastRefreshNanos;
+
+    public JwksCache(@Qualifier("webClientBuilder") WebClient.Builder webClientBuilder,
+                     @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                     JwtKeysConfig config,
+                     ResourceLoader resourceLoader) {
+        this.webClient = webClientBuilder.clone().build();
+        this.jwkSetUri = jwkSetUri;
+        this.config = config;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    void loadSnapshot() {
+        String location = config.getBootstrapLocation();
+        if (location == null || location.isBlank()) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            log.warn("JWKS snapshot {} not found; keys will be fetched on first use", location);
+            return;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            replace(JWKSet.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8)), location);
+        } catch (IOException | ParseException e) {
+            log.warn("Error reading JWKS snapshot {}: {}", location, e.getMessage());
+        }
+    }
+
+    /**
+     * Keys matching the header of the token, refreshing once when none is cached
+     */
+    public Flux<JWK> select(SignedJWT jwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        List<JWK> cached = selector.select(keys.get());
+        if (!cached.isEmpty()) {
+            return Flux.fromIterable(cached);
+        }
+        return refresh(false)
+                .onErrorResume(error -> Mono.just(keys.get()))
+                .flatMapIterable(selector::select);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwks.refresh-interval-ms:600000}",
+            initialDelayString = "${security.jwks.initial-refresh-delay-ms:0}")
+    public void checkRotation() {
+        refresh(true).subscribe(
+                set -> { },
+                error -> log.warn("Error refreshing JWKS from {}: {}", jwkSetUri, error.getMessage()));
+    }
+
+    /**
+     * Fetches the key set unless a fetch is already running, in which case its
+     * result is shared. Unforced refreshes inside the throttle window return the cache.
+     */
+    private Mono<JWKSet> refresh(boolean force) {
+        return Mono.defer(() -> {
+            CompletableFuture<JWKSet> running = pending.get();
+            if (running == null) {
+                long sinceLast = System.nanoTime() - lastRefreshNanos;
+                if (!force && lastRefreshNanos != 0
+                        && sinceLast < TimeUnit.MILLISECONDS.toNanos(config.getMinRefreshIntervalMs())) {
+                    return Mono.just(keys.get());
+                }
+                CompletableFuture<JWKSet> created = new CompletableFuture<>();
+                if (pending.compareAndSet(null, created)) {
+                    lastRefreshNanos = System.nanoTime();
+                    fetch().doFinally(signal -> pending.compareAndSet(created, null))
+                            .subscribe(created::complete, created::completeExceptionally);
+                    running = created;
+                } else {
+                    running = pending.get();
+                    if (running == null) {
+                        return Mono.just(keys.get());
+                    }
+                }
+            }
+            // Cancelling one waiting request must not cancel the fetch shared with the others
+            return Mono.fromFuture(running, true);
+        });
+    }
+
+    /**
+     * Swaps in the new key set and reports whether its key ids changed
+     */
+    private boolean replace(JWKSet updated, String origin) {
+        JWKSet previous = keys.getAndSet(updated);
+        Set<String> before = keyIds(previous);
+        Set<String> after = keyIds(updated);
+        if (before.equals(after)) {
+            return false;
+        }
+        log.info("Loaded {} signing keys from {} (kids {})", after.size(), origin, after);
+        return true;
+    }
+
+    private Mono<JWKSet> fetch() {
+        return webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(Duration.ofMillis(config.getFetchTimeoutMs()))
+                .map(body -> {
+                    try {
+                        return JWKSet.parse(body);
+                    } catch (ParseException e) {
+                        throw new IllegalStateException("Invalid JWKS document: " + e.getMessage(), e);
+                    }
+                })
+                .doOnNext(set -> {
+                    if (replace(set, jwkSetUri)) {
+                        saveSnapshot(set);
+                    }
+                });
+    }
+
+    private void saveSnapshot(JWKSet set) {
+        String location = config.getBootstrapLocation();
+        if (!config.isSaveSnapshot() || location == null || !location.startsWith("file:")) {
+            return;
+        }
+        // Public keys only; written to a temporary file first so a crash never leaves half a snapshot
+        String json = set.toPublicJWKSet().toString(true);
+        Mono.fromRunnable(() -> {
+                    try {
+                        Path target = Path.of(location.substring("file:".length()));
+                        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "jwks", ".tmp");
+                        Files.writeString(temp, json);
+                        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e.getMessage(), e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        done -> { },
+                        error -> log.warn("Error saving JWKS snapshot {}: {}", location, error.getMessage()));
+    }
+
+    private static Set<String> keyIds(JWKSet set) {
+        Set<String> ids = new HashSet<>();
+        set.getKeys().forEach(key -> ids.add(key.getKeyID()));
+        return ids;
+    }
+}
@@ -1,15 +1,14 @@
 package pe.edu.vallegrande.vgmsdistribution.infrastructure.service;
 
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,44 +18,42 @@ import java.util.Map;
 @Slf4j
 public class JwtService {
     
-    private final JwtDecoder jwtDecoder;
+    private final ReactiveJwtDecoder jwtDecoder;
 
     @Autowired
-    public JwtService(JwtDecoder jwtDecoder) {
+    public JwtService(ReactiveJwtDecoder jwtDecoder) {
         this.jwtDecoder = jwtDecoder;
     }
 
+    /**
+     * Decodifica y valida un token JWT una sola vez
+     * @param token El token JWT
+     * @return El JWT decodificado, o error si no es válido
+     */
+    public Mono<Jwt> decode(String token) {
+        return jwtDecoder.decode(token);
+    }
+
     /**
      * Valida un token JWT
      * @param token El token JWT a validar
      * @return true si el token es válido, false en caso contrario
      */
-    public boolean validateToken(String token) {
-        try {
-            jwtDecoder.decode(token);
-            return true;
-        } catch (ExpiredJwtException e) {
-            log.warn("Token JWT expirado: {}", e.getMessage());
-            return false;
-        } catch (SignatureException e) {
-            log.error("Firma JWT inválida: {}", e.getMessage());
-            return false;
-        } catch (MalformedJwtException e) {
-            log.error("Token JWT malformado: {}", e.getMessage());
-            return false;
-        } catch (UnsupportedJwtException e) {
-            log.error("Token JWT no soportado: {}", e.getMessage());
-            return false;
-        } catch (JwtValidationException e) {
-            log.error("Error de validación JWT: {}", e.getMessage());
-            return false;
-        } catch (JwtException e) {
-            log.error("Error en token JWT: {}", e.getMessage());
-            return false;
-        } catch (Exception e) {
-            log.error("Error inesperado validando token: {}", e.getMessage());
-            return false;
-        }
+    public Mono<Boolean> validateToken(String token) {
+        return decode(token)
+                .map(jwt -> true)
+                .onErrorResume(e -> {
+                    if (e instanceof JwtValidationException) {
+                        log.warn("Error de validación JWT: {}", e.getMessage());
+                    } else if (e instanceof BadJwtException) {
+                        log.error("Token JWT inválido: {}", e.getMessage());
+                    } else if (e instanceof JwtException) {
+                        log.error("Error en token JWT: {}", e.getMessage());
+                    } else {
+                        log.error("Error inesperado validando token: {}", e.getMessage());
+                    }
+                    return Mono.just(false);
+                });
     }
 
     /**
@@ -64,11 +61,23 @@ public class JwtService {
      * @param token El token JWT
      * @return Lista de roles
      */
+    public Mono<List<String>> extractRoles(String token) {
+        return decode(token)
+                .map(this::extractRoles)
+                .onErrorResume(e -> {
+                    log.error("Error al extraer roles del token: {}", e.getMessage());
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    /**
+     * Extrae los roles de un JWT ya decodificado
+     * @param jwt El JWT decodificado
+     * @return Lista de roles
+     */
     @SuppressWarnings("unchecked")
-    public List<String> extractRoles(String token) {
+    public List<String> extractRoles(Jwt jwt) {
         try {
-            // Usar el JwtDecoder de Spring Security para obtener los claims
-            var jwt = jwtDecoder.decode(token);
             Map<String, Object> claims = jwt.getClaims();
 
             // Intentar extraer roles de realm_access (formato Keycloak)
@@ -111,9 +120,6 @@ public class JwtService {
         } catch (ClassCastException e) {
             log.error("Error de conversión al extraer roles: {}", e.getMessage());
             return new ArrayList<>();
-        } catch (Exception e) {
-            log.error("Error al extraer roles del token: {}", e.getMessage());
-            return new ArrayList<>();
         }
     }
 
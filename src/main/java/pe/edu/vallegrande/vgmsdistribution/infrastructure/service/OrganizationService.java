@@ -1,9 +1,7 @@
 package pe.edu.vallegrande.vgmsdistribution.infrastructure.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
@@ -12,17 +10,15 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OrganizationService {
     
-    private final WebClient.Builder webClientBuilder;
-    
-    @Qualifier("internalWebClient")
-    private final WebClient internalWebClient;
+    // Cliente compartido con pool de conexiones y base URL del servicio de organizaciones
+    private final WebClient organizationWebClient;
 
-    @Value("${microservices.organization.url}")
-    private String organizationServiceUrl;
+    public OrganizationService(@Qualifier("organizationWebClient") WebClient organizationWebClient) {
+        this.organizationWebClient = organizationWebClient;
+    }
 
     /**
      * Obtiene la información de una organización por su ID
@@ -34,10 +30,8 @@ public class OrganizationService {
         
         return getJwtToken()
                 .flatMap(token -> {
-                    WebClient webClient = webClientBuilder.build();
-                    
-                    return webClient.get()
-                            .uri(organizationServiceUrl + "/organization/{organizationId}", organizationId)
+                    return organizationWebClient.get()
+                            .uri("/organization/{organizationId}", organizationId)
                             .header("Authorization", "Bearer " + token)
                             .retrieve()
                             .bodyToMono(OrganizationApiResponse.class)
@@ -50,10 +44,8 @@ public class OrganizationService {
                 })
                 .switchIfEmpty(Mono.defer(() -> {
                     log.warn("No se pudo obtener el token JWT, intentando sin autenticación");
-                    WebClient webClient = webClientBuilder.build();
-                    
-                    return webClient.get()
-                            .uri(organizationServiceUrl + "/organization/{organizationId}", organizationId)
+                    return organizationWebClient.get()
+                            .uri("/organization/{organizationId}", organizationId)
                             .retrieve()
                             .bodyToMono(OrganizationApiResponse.class)
                             .map(OrganizationApiResponse::getData)
@@ -73,8 +65,8 @@ public class OrganizationService {
     public Mono<OrganizationResponse> getOrganizationByIdAutoAuth(String organizationId) {
         log.info("Obteniendo información de la organización con ID: {} (auth automática)", organizationId);
         
-        return internalWebClient.get()
-                .uri(organizationServiceUrl + "/organization/{organizationId}", organizationId)
+        return organizationWebClient.get()
+                .uri("/organization/{organizationId}", organizationId)
                 .retrieve()
                 .onStatus(status -> status.is5xxServerError(), 
                     response -> {
@@ -5,13 +5,21 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ServerWebExchange;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.config.InternedJwtAuthenticationToken;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class PermissionValidationService {
-    
+
+    // Requisitos ya convertidos a bitset, por texto del requisito
+    private final Map<String, AuthoritySet> requirements = new ConcurrentHashMap<>();
+
     /**
      * Valida si el usuario tiene el rol especificado usando Spring Security Context
      * @param exchange El intercambio de la solicitud
@@ -22,16 +30,7 @@ public class PermissionValidationService {
         return ReactiveSecurityContextHolder.getContext()
                 .map(securityContext -> securityContext.getAuthentication())
                 .cast(Authentication.class)
-                .map(authentication -> {
-                    // Verificar si el usuario tiene el rol requerido
-                    boolean hasRole = authentication.getAuthorities().stream()
-                            .map(GrantedAuthority::getAuthority)
-                            .anyMatch(authority -> 
-                                authority.equals("ROLE_" + requiredRole) || 
-                                authority.equals(requiredRole)
-                            );
-                    return hasRole;
-                })
+                .map(authentication -> hasAny(authentication, requiredRole))
                 .defaultIfEmpty(false);
     }
 
@@ -48,11 +47,52 @@ public class PermissionValidationService {
             return Mono.just(false);
         }
         
-        // Verificar si alguna de las cadenas en la lista contiene el rol requerido
-        boolean hasRole = roles.stream()
-                .anyMatch(roleString -> roleString.contains(requiredRole));
-        
-        return Mono.just(hasRole);
+        // Cada encabezado es una lista separada por comas; se compara el rol completo, no subcadenas
+        List<String> names = new ArrayList<>();
+        roles.forEach(roleString -> Arrays.stream(roleString.split(","))
+                .map(String::trim)
+                .forEach(names::add));
+        // El requisito se interna antes de buscar los nombres recibidos
+        AuthoritySet required = required(requiredRole);
+        return Mono.just(AuthoritySet.lookup(names).containsAny(required));
+    }
+
+    /**
+     * Verifica si la autenticación tiene alguna de las authorities indicadas,
+     * separadas por comas, ya sea como rol (ROLE_) o como permiso. Usado por @RequiresAuthority.
+     * @param authentication La autenticación actual
+     * @param authorities Las authorities requeridas
+     * @return true si tiene al menos una
+     */
+    public boolean hasAny(Authentication authentication, String authorities) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        AuthoritySet required = required(authorities);
+        return authoritiesOf(authentication).containsAny(required);
+    }
+
+    private static AuthoritySet authoritiesOf(Authentication authentication) {
+        if (authentication instanceof InternedJwtAuthenticationToken interned) {
+            return interned.getAuthoritySet();
+        }
+        return AuthoritySet.lookup(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
+
+    private AuthoritySet required(String authorities) {
+        return requirements.computeIfAbsent(authorities, key -> {
+            List<String> names = new ArrayList<>();
+            for (String name : key.split(",")) {
+                String trimmed = name.trim();
+                if (!trimmed.isEmpty()) {
+                    names.add(trimmed);
+                    names.add("ROLE_" + trimmed);
+                }
+            }
+            return AuthoritySet.ofNames(names);
+        });
     }
 
-}
\ No newline at end of file
+}
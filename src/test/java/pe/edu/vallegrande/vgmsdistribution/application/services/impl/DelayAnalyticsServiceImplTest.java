@@ -0,0 +1,125 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.domain.events.DelayAnomalyEvent;
+import pe.edu.vallegrande.vgmsdistribution.domain.events.ProgramCompletedEvent;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.DelayStatsResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DelayAnalyticsServiceImplTest {
+
+    private static final String ORGANIZATION = "org-1";
+
+    private final DistributionConfig config = new DistributionConfig();
+    private final List<DelayAnomalyEvent> published = new ArrayList<>();
+
+    private DelayAnalyticsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // alpha 0.2, 10 muestras mínimas, umbral de inicio 15 min y limpieza al 80 %
+        service = new DelayAnalyticsServiceImpl(config, event -> published.add((DelayAnomalyEvent) event));
+    }
+
+    @Test
+    void spanMinutesWrapsPastMidnight() {
+        assertThat(DelayAnalyticsServiceImpl.spanMinutes("08:00", "10:30")).isEqualTo(150);
+        assertThat(DelayAnalyticsServiceImpl.spanMinutes("22:00", "02:00")).isEqualTo(240);
+        assertThat(DelayAnalyticsServiceImpl.spanMinutes("23:59", "00:00")).isEqualTo(1);
+        assertThat(DelayAnalyticsServiceImpl.spanMinutes("06:00", "06:00")).isZero();
+        assertThat(DelayAnalyticsServiceImpl.spanMinutes("6am", "08:00")).isNull();
+        assertThat(DelayAnalyticsServiceImpl.spanMinutes("06:00", null)).isNull();
+    }
+
+    @Test
+    void measuresStartDelayAsTheShortestDistanceOnTheClock() {
+        complete("23:50", "00:10");
+        complete("00:05", "23:55");
+
+        DelayStatsResponse.Metric startDelay = routeStats().getStartDelay();
+        assertThat(startDelay.getSamples()).isEqualTo(2);
+        // 20 y luego -10: 20 + 0.2 * (-10 - 20)
+        assertThat(startDelay.getEwmaMinutes()).isCloseTo(14.0, within(1e-9));
+    }
+
+    @Test
+    void measuresOverrunAcrossMidnight() {
+        completeWithEnd("22:00", "02:00", "22:00", "03:00");
+
+        assertThat(routeStats().getDurationOverrun().getEwmaMinutes()).isCloseTo(60.0, within(1e-9));
+    }
+
+    @Test
+    void waitsForTheMinimumSamplesBeforeRaising() {
+        for (int i = 0; i < config.getDelayAnalytics().getMinSamples() - 1; i++) {
+            complete("08:00", "09:00");
+        }
+
+        assertThat(published).isEmpty();
+        complete("08:00", "09:00");
+        assertThat(published).singleElement().satisfies(anomaly -> {
+            assertThat(anomaly.metric()).isEqualTo("START_DELAY");
+            assertThat(anomaly.scope()).isEqualTo("ROUTE");
+            assertThat(anomaly.samples()).isEqualTo(10);
+        });
+    }
+
+    @Test
+    void raisesOnceAndClearsOnlyBelowTheClearRatio() {
+        for (int i = 0; i < 15; i++) {
+            complete("08:00", "08:30");
+        }
+        assertThat(published).hasSize(1);
+        assertThat(routeStats().getStartDelay().isAnomalous()).isTrue();
+
+        // La EWMA baja 30 -> 24 -> 19.2 -> 15.36 -> 12.29: bajo el umbral, pero aún sobre 12
+        for (int i = 0; i < 4; i++) {
+            complete("08:00", "08:00");
+        }
+        assertThat(routeStats().getStartDelay().getEwmaMinutes()).isLessThan(15).isGreaterThan(12);
+        assertThat(routeStats().getStartDelay().isAnomalous()).isTrue();
+
+        complete("08:00", "08:00");
+        assertThat(routeStats().getStartDelay().isAnomalous()).isFalse();
+
+        // Volver a superar el umbral emite una anomalía nueva
+        for (int i = 0; i < 5; i++) {
+            complete("08:00", "08:45");
+        }
+        assertThat(published).hasSize(2);
+    }
+
+    private void complete(String plannedStart, String actualStart) {
+        service.onProgramCompleted(new ProgramCompletedEvent(DistributionProgram.builder()
+                .organizationId(ORGANIZATION)
+                .routeId("route-1")
+                .plannedStartTime(plannedStart)
+                .actualStartTime(actualStart)
+                .build()));
+    }
+
+    private void completeWithEnd(String plannedStart, String plannedEnd, String actualStart, String actualEnd) {
+        service.onProgramCompleted(new ProgramCompletedEvent(DistributionProgram.builder()
+                .organizationId(ORGANIZATION)
+                .routeId("route-1")
+                .plannedStartTime(plannedStart)
+                .plannedEndTime(plannedEnd)
+                .actualStartTime(actualStart)
+                .actualEndTime(actualEnd)
+                .build()));
+    }
+
+    private DelayStatsResponse routeStats() {
+        return service.getStats(ORGANIZATION)
+                .filter(stats -> "ROUTE".equals(stats.getScope()))
+                .blockFirst();
+    }
+}
@@ -0,0 +1,159 @@
+package pe.edu.vallegrande.vgmsdistribution.application.services.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vgmsdistribution.application.config.DistributionConfig;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionProgram;
+import pe.edu.vallegrande.vgmsdistribution.domain.models.DistributionRoute;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.response.ProgramConflictResponse;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionProgramRepository;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.repository.DistributionRouteRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResponsibleUserBookingIndexTest {
+
+    private static final String ORGANIZATION = "org-1";
+
+    private final DistributionConfig config = new DistributionConfig();
+    private final List<DistributionProgram> stored = new ArrayList<>();
+    private final List<DistributionRoute> routes = new ArrayList<>();
+
+    private LocalDate monday;
+    private ResponsibleUserBookingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DistributionProgramRepository programRepository = mock(DistributionProgramRepository.class);
+        DistributionRouteRepository routeRepository = mock(DistributionRouteRepository.class);
+        // Los repositorios devuelven lo que haya en las listas en el momento de la consulta
+        when(programRepository.findAllByOrganizationIdAndProgramDateGreaterThanEqual(eq(ORGANIZATION), any()))
+                .thenAnswer(invocation -> Flux.fromIterable(List.copyOf(stored)));
+        when(routeRepository.findAllByOrganizationId(ORGANIZATION))
+                .thenAnswer(invocation -> Flux.fromIterable(List.copyOf(routes)));
+        index = new ResponsibleUserBookingIndex(programRepository, routeRepository, config);
+        monday = LocalDate.now(config.zoneId()).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void reportsOverlappingWindowsOfTheSameUser() {
+        book(program("p1", "user-1", monday, "08:00", "10:00"));
+
+        assertThat(book(program("p2", "user-1", monday, "09:30", "11:00"))).containsExactly("p1");
+        assertThat(book(program("p3", "user-2", monday, "09:00", "10:00"))).isEmpty();
+    }
+
+    @Test
+    void treatsTouchingWindowsAsFree() {
+        book(program("p1", "user-1", monday, "08:00", "10:00"));
+
+        assertThat(book(program("p2", "user-1", monday, "10:00", "12:00"))).isEmpty();
+        assertThat(book(program("p3", "user-1", monday, "06:00", "08:00"))).isEmpty();
+    }
+
+    @Test
+    void findsOverlapsAcrossMidnight() {
+        book(program("night", "user-1", monday, "22:00", "02:00"));
+
+        assertThat(book(program("early", "user-1", monday.plusDays(1), "01:00", "02:00"))).containsExactly("night");
+        assertThat(book(program("later", "user-1", monday.plusDays(1), "02:00", "04:00"))).isEmpty();
+    }
+
+    @Test
+    void findsAShortWindowInsideALongerOneThatStartedEarlier() {
+        book(program("long", "user-1", monday, "06:00", "18:00"));
+        book(program("other", "user-1", monday, "07:00", "08:00"));
+
+        assertThat(book(program("short", "user-1", monday, "16:00", "17:00"))).containsExactly("long");
+    }
+
+    @Test
+    void rebookingAProgramReplacesItsPreviousWindow() {
+        book(program("p1", "user-1", monday, "08:00", "10:00"));
+        book(program("p2", "user-1", monday, "12:00", "13:00"));
+
+        assertThat(book(program("p1", "user-1", monday, "12:30", "14:00"))).containsExactly("p2");
+        assertThat(book(program("p3", "user-1", monday, "08:00", "10:00"))).isEmpty();
+    }
+
+    @Test
+    void inheritsTheRouteResponsibleAndDuration() {
+        routes.add(DistributionRoute.builder()
+                .id("route-1").organizationId(ORGANIZATION).responsibleUserId("user-1").totalEstimatedDuration(3)
+                .build());
+        DistributionProgram onRoute = program("p1", null, monday, "08:00", null);
+        onRoute.setRouteId("route-1");
+        book(onRoute);
+
+        assertThat(book(program("p2", "user-1", monday, "10:30", "11:00"))).containsExactly("p1");
+        assertThat(book(program("p3", "user-1", monday, "11:00", "12:00"))).isEmpty();
+    }
+
+    @Test
+    void ignoresCancelledPrograms() {
+        DistributionProgram cancelled = program("p1", "user-1", monday, "08:00", "10:00");
+        cancelled.setStatus("CANCELLED");
+        book(cancelled);
+
+        assertThat(book(program("p2", "user-1", monday, "09:00", "10:00"))).isEmpty();
+    }
+
+    @Test
+    void listsEachOverlappingPairOfTheWeekOnce() {
+        book(program("p1", "user-1", monday, "08:00", "10:00"));
+        book(program("p2", "user-1", monday, "09:00", "11:00"));
+        book(program("p3", "user-1", monday.plusDays(7), "09:00", "11:00"));
+
+        List<ProgramConflictResponse> conflicts = index.conflicts(ORGANIZATION, monday).block();
+
+        assertThat(conflicts).singleElement().satisfies(conflict -> {
+            assertThat(conflict.getProgramId()).isEqualTo("p1");
+            assertThat(conflict.getConflictingProgramId()).isEqualTo("p2");
+            assertThat(conflict.getProgramDate()).isEqualTo(monday);
+            assertThat(conflict.getOverlapStart()).isEqualTo("09:00");
+            assertThat(conflict.getOverlapEnd()).isEqualTo("10:00");
+            assertThat(conflict.getOverlapMinutes()).isEqualTo(60);
+        });
+    }
+
+    @Test
+    void refreshPicksUpProgramsWrittenByOtherInstances() {
+        book(program("p1", "user-1", monday, "08:00", "10:00"));
+        // Otra réplica guarda un programa que esta instancia nunca vio pasar
+        stored.add(program("elsewhere", "user-1", monday, "09:00", "09:30"));
+
+        assertThat(book(program("p2", "user-1", monday, "09:15", "09:45"))).containsExactly("p1");
+        index.refresh();
+        assertThat(book(program("p2", "user-1", monday, "09:15", "09:45"))).containsExactlyInAnyOrder("p1", "elsewhere");
+    }
+
+    private List<String> book(DistributionProgram program) {
+        stored.removeIf(existing -> existing.getId().equals(program.getId()));
+        stored.add(program);
+        return index.book(program).block();
+    }
+
+    private static DistributionProgram program(String id, String userId, LocalDate date, String start, String end) {
+        return DistributionProgram.builder()
+                .id(id)
+                .organizationId(ORGANIZATION)
+                .programCode(id.toUpperCase())
+                .responsibleUserId(userId)
+                .programDate(date)
+                .plannedStartTime(start)
+                .plannedEndTime(end)
+                .status("PLANNED")
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vgmsdistribution.domain.enums.CalendarExceptionType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledExceptionCalendarTest {
+
+    private static final LocalDate LEAP_DAY = LocalDate.of(2024, 2, 29);
+    private static final LocalDate LAST_DAY_OF_LEAP_YEAR = LocalDate.of(2024, 12, 31);
+
+    @Test
+    void organizationWideSuspensionAppliesToEveryZone() {
+        CompiledExceptionCalendar calendar = CompiledExceptionCalendar.compile(List.of(
+                suspended(null, LEAP_DAY)));
+
+        assertThat(calendar.isSuspended(null, LEAP_DAY)).isTrue();
+        assertThat(calendar.isSuspended("zone-a", LEAP_DAY)).isTrue();
+        assertThat(calendar.isSuspended("zone-a", LEAP_DAY.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void zoneSuspensionOnlyAppliesToThatZone() {
+        CompiledExceptionCalendar calendar = CompiledExceptionCalendar.compile(List.of(
+                suspended("zone-a", LEAP_DAY)));
+
+        assertThat(calendar.isSuspended("zone-a", LEAP_DAY)).isTrue();
+        assertThat(calendar.isSuspended("zone-b", LEAP_DAY)).isFalse();
+        assertThat(calendar.isSuspended(null, LEAP_DAY)).isFalse();
+    }
+
+    @Test
+    void coversWordBoundariesAndDay366() {
+        // Days 64 and 65 sit on both sides of the first word boundary; day 366 is the last bit used
+        LocalDate day64 = LocalDate.ofYearDay(2024, 64);
+        LocalDate day65 = LocalDate.ofYearDay(2024, 65);
+        CompiledExceptionCalendar calendar = CompiledExceptionCalendar.compile(List.of(
+                suspended(null, day64), suspended(null, day65), suspended(null, LAST_DAY_OF_LEAP_YEAR)));
+
+        assertThat(calendar.isSuspended(null, day64)).isTrue();
+        assertThat(calendar.isSuspended(null, day65)).isTrue();
+        assertThat(calendar.isSuspended(null, LAST_DAY_OF_LEAP_YEAR)).isTrue();
+        assertThat(calendar.isSuspended(null, LocalDate.ofYearDay(2024, 63))).isFalse();
+        assertThat(calendar.suspendedDates(null, 2024)).containsExactly(day64, day65, LAST_DAY_OF_LEAP_YEAR);
+    }
+
+    @Test
+    void keepsYearsApart() {
+        CompiledExceptionCalendar calendar = CompiledExceptionCalendar.compile(List.of(
+                suspended(null, LocalDate.of(2024, 1, 1))));
+
+        assertThat(calendar.isSuspended(null, LocalDate.of(2024, 1, 1))).isTrue();
+        assertThat(calendar.isSuspended(null, LocalDate.of(2025, 1, 1))).isFalse();
+        assertThat(calendar.suspendedDates(null, 2025)).isEmpty();
+    }
+
+    @Test
+    void suspendedDatesMergesOrganizationAndZoneInOrder() {
+        LocalDate march = LocalDate.of(2025, 3, 10);
+        LocalDate july = LocalDate.of(2025, 7, 28);
+        LocalDate december = LocalDate.of(2025, 12, 25);
+        CompiledExceptionCalendar calendar = CompiledExceptionCalendar.compile(List.of(
+                suspended(null, december), suspended("zone-a", march), suspended(null, july),
+                suspended("zone-b", LocalDate.of(2025, 5, 1))));
+
+        assertThat(calendar.suspendedDates("zone-a", 2025)).containsExactly(march, july, december);
+        assertThat(calendar.suspendedDates(null, 2025)).containsExactly(july, december);
+    }
+
+    @Test
+    void zoneShiftTakesPrecedenceOverOrganizationShift() {
+        LocalDate date = LocalDate.of(2025, 6, 24);
+        CalendarException organizationShift = shifted(null, date, "08:00");
+        CalendarException zoneShift = shifted("zone-a", date, "10:00");
+        CompiledExceptionCalendar calendar = CompiledExceptionCalendar.compile(List.of(organizationShift, zoneShift));
+
+        assertThat(calendar.isShifted("zone-b", date)).isTrue();
+        assertThat(calendar.isSuspended("zone-a", date)).isFalse();
+        assertThat(calendar.shiftFor("zone-a", date)).contains(zoneShift);
+        assertThat(calendar.shiftFor("zone-b", date)).contains(organizationShift);
+        assertThat(calendar.shiftFor("zone-a", date.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    void compilesNothingToEmpty() {
+        assertThat(CompiledExceptionCalendar.compile(List.of())).isSameAs(CompiledExceptionCalendar.EMPTY);
+        assertThat(CompiledExceptionCalendar.compile(List.of(suspended(null, null))).isEmpty()).isTrue();
+    }
+
+    private static CalendarException suspended(String zoneId, LocalDate date) {
+        return CalendarException.builder()
+                .zoneId(zoneId)
+                .exceptionDate(date)
+                .exceptionType(CalendarExceptionType.SUSPENDED.name())
+                .build();
+    }
+
+    private static CalendarException shifted(String zoneId, LocalDate date, String start) {
+        return CalendarException.builder()
+                .zoneId(zoneId)
+                .exceptionDate(date)
+                .exceptionType(CalendarExceptionType.SHIFTED.name())
+                .shiftedStartTime(start)
+                .shiftedEndTime("12:00")
+                .build();
+    }
+}
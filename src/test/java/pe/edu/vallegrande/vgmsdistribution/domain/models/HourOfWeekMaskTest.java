@@ -0,0 +1,87 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HourOfWeekMaskTest {
+
+    @Test
+    void coversEveryStartedHourOfTheWindow() {
+        // 08:30-10:15 toca las horas 8, 9 y 10 del lunes
+        HourOfWeekMask mask = HourOfWeekMask.of(schedule(List.of("LUNES"), "08:30", "10:15", 0));
+
+        assertThat(mask.cardinality()).isEqualTo(3);
+        assertThat(mask.runs()).containsExactly(new int[]{8, 11});
+    }
+
+    @Test
+    void wrapsOvernightWindowsIntoTheNextDay() {
+        HourOfWeekMask mask = HourOfWeekMask.of(schedule(List.of("MONDAY"), "22:00", "02:00", 0));
+
+        assertThat(mask.runs()).containsExactly(new int[]{22, 26});
+    }
+
+    @Test
+    void wrapsSundayNightIntoMondayMorning() {
+        HourOfWeekMask mask = HourOfWeekMask.of(schedule(List.of("DOMINGO"), "23:00", "01:00", 0));
+
+        assertThat(mask.get(0)).isTrue();
+        assertThat(mask.get(HourOfWeekMask.HOURS_PER_WEEK - 1)).isTrue();
+        assertThat(mask.cardinality()).isEqualTo(2);
+    }
+
+    @Test
+    void fallsBackToDurationWhenThereIsNoEndTime() {
+        HourOfWeekMask mask = HourOfWeekMask.of(schedule(List.of("MIÉRCOLES"), "06:00", null, 3));
+
+        int wednesday = (DayOfWeek.WEDNESDAY.getValue() - 1) * 24;
+        assertThat(mask.runs()).containsExactly(new int[]{wednesday + 6, wednesday + 9});
+    }
+
+    @Test
+    void spansWordBoundaries() {
+        // El bit 63 cae en miércoles (libre) y los bits 127/128 en el sábado a las 07:00 y 08:00
+        HourOfWeekMask mask = HourOfWeekMask.of(schedule(List.of("MAR", "JUE", "VIE", "SAB"), "00:00", "23:59", 0));
+
+        assertThat(mask.cardinality()).isEqualTo(4 * 24);
+        assertThat(mask.get(63)).isFalse();
+        assertThat(mask.get(72)).isTrue();
+        assertThat(mask.get(127)).isTrue();
+        assertThat(mask.get(128)).isTrue();
+        assertThat(mask.runs()).containsExactly(new int[]{24, 48}, new int[]{72, 144});
+    }
+
+    @Test
+    void yieldsEmptyForUnusableSchedules() {
+        assertThat(HourOfWeekMask.of(schedule(null, "08:00", "10:00", 0)).isEmpty()).isTrue();
+        assertThat(HourOfWeekMask.of(schedule(List.of("LUNES"), "8am", "10:00", 0)).isEmpty()).isTrue();
+        assertThat(HourOfWeekMask.of(schedule(List.of("LUNES"), "08:00", null, 0)).isEmpty()).isTrue();
+        assertThat(HourOfWeekMask.of(schedule(List.of("FERIADO"), "08:00", "10:00", 0)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void combinesMasksToFindGapsAndOverlaps() {
+        HourOfWeekMask morning = HourOfWeekMask.of(schedule(List.of("LUNES"), "06:00", "12:00", 0));
+        HourOfWeekMask midday = HourOfWeekMask.of(schedule(List.of("LUNES"), "10:00", "14:00", 0));
+
+        assertThat(morning.and(midday).runs()).containsExactly(new int[]{10, 12});
+        assertThat(morning.or(midday).runs()).containsExactly(new int[]{6, 14});
+        assertThat(morning.andNot(midday).runs()).containsExactly(new int[]{6, 10});
+        assertThat(morning.or(midday).not().cardinality()).isEqualTo(HourOfWeekMask.HOURS_PER_WEEK - 8);
+        assertThat(HourOfWeekMask.EMPTY.not().cardinality()).isEqualTo(HourOfWeekMask.HOURS_PER_WEEK);
+        assertThat(HourOfWeekMask.FULL.not().isEmpty()).isTrue();
+    }
+
+    private static DistributionSchedule schedule(List<String> days, String start, String end, int durationHours) {
+        return DistributionSchedule.builder()
+                .daysOfWeek(days)
+                .startTime(start)
+                .endTime(end)
+                .durationHours(durationHours)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package pe.edu.vallegrande.vgmsdistribution.domain.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class P2QuantileTest {
+
+    @Test
+    void isExactWhileFewerThanFiveValuesWereSeen() {
+        P2Quantile median = new P2Quantile(0.5);
+        P2Quantile p90 = new P2Quantile(0.9);
+        assertThat(median.value()).isNaN();
+
+        for (double value : new double[]{30, 10, 20}) {
+            median.add(value);
+            p90.add(value);
+        }
+
+        assertThat(median.count()).isEqualTo(3);
+        assertThat(median.value()).isEqualTo(20);
+        assertThat(p90.value()).isEqualTo(30);
+    }
+
+    @Test
+    void keepsAConstantStreamExact() {
+        P2Quantile p90 = new P2Quantile(0.9);
+        for (int i = 0; i < 1_000; i++) {
+            p90.add(45);
+        }
+
+        assertThat(p90.value()).isEqualTo(45);
+        assertThat(p90.count()).isEqualTo(1_000);
+    }
+
+    @Test
+    void tracksQuantilesOfAnOrderedStream() {
+        P2Quantile median = new P2Quantile(0.5);
+        P2Quantile p90 = new P2Quantile(0.9);
+        for (int i = 1; i <= 1_000; i++) {
+            median.add(i);
+            p90.add(i);
+        }
+
+        assertThat(median.value()).isCloseTo(500, within(10.0));
+        assertThat(p90.value()).isCloseTo(900, within(10.0));
+    }
+
+    @Test
+    void approximatesASkewedDistribution() {
+        // Duraciones con cola larga, como los retrasos reales: exponencial de media 30 min
+        Random random = new Random(42);
+        double[] values = new double[20_000];
+        P2Quantile median = new P2Quantile(0.5);
+        P2Quantile p90 = new P2Quantile(0.9);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = -30 * Math.log(1 - random.nextDouble());
+            median.add(values[i]);
+            p90.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertThat(median.value()).isCloseTo(values[values.length / 2], within(1.0));
+        assertThat(p90.value()).isCloseTo(values[(int) (values.length * 0.9)], within(2.5));
+    }
+
+    @Test
+    void rejectsQuantilesOutsideTheOpenUnitInterval() {
+        assertThatThrownBy(() -> new P2Quantile(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new P2Quantile(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHedgerTest {
+
+    private static final String ENDPOINT = "users";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        MsUsersConfig config = new MsUsersConfig();
+        config.getHedging().setEnabled(true);
+        config.getHedging().setInitialDelayMs(50);
+        hedger = new RequestHedger(config, meterRegistry);
+    }
+
+    @Test
+    void countsTheBackupAsWinnerWhenItAnswersFirst() {
+        AtomicInteger calls = new AtomicInteger();
+
+        // La primera llamada tarda 2 s; el respaldo sale a los 50 ms y contesta enseguida
+        StepVerifier.create(hedger.hedge(ENDPOINT, () -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofSeconds(2)).thenReturn("primary")
+                        : Mono.just("backup")))
+                .expectNext("backup")
+                .verifyComplete();
+
+        assertThat(count("fired")).isEqualTo(1);
+        assertThat(count("won")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCountAWinWhenThePrimaryIsSelected() {
+        AtomicInteger calls = new AtomicInteger();
+
+        // El respaldo sale, pero la primera llamada contesta antes que él
+        StepVerifier.create(hedger.hedge(ENDPOINT, () -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofMillis(100)).thenReturn("primary")
+                        : Mono.delay(Duration.ofMillis(500)).thenReturn("backup")))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(count("fired")).isEqualTo(1);
+        assertThat(count("won")).isZero();
+    }
+
+    @Test
+    void skipsTheBackupForAFastPrimary() {
+        StepVerifier.create(hedger.hedge(ENDPOINT, () -> Mono.just("primary")))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(count("fired")).isZero();
+        assertThat(count("won")).isZero();
+    }
+
+    private double count(String outcome) {
+        var counter = meterRegistry.find("ms-users.hedges").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
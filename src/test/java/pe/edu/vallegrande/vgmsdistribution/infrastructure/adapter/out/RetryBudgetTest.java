@@ -0,0 +1,66 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.awaitility.Awaitility.await;
+
+class RetryBudgetTest {
+
+    @Test
+    void startsFullAndSpendsOneTokenPerExtraRequest() {
+        RetryBudget budget = new RetryBudget(0.1, 0, 3);
+        assertThat(budget.balance()).isEqualTo(3);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+        assertThat(budget.balance()).isZero();
+    }
+
+    @Test
+    void earnsAnExtraRequestEveryOneOverRatioCalls() {
+        RetryBudget budget = new RetryBudget(0.1, 0, 3);
+        while (budget.tryWithdraw()) {
+            // Vacía el saldo inicial
+        }
+
+        // Con ratio 0.1, nueve llamadas dejan 0.9 tokens: aún no alcanza para una petición extra
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.balance()).isCloseTo(0.9, within(1e-9));
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.balance()).isCloseTo(0, within(1e-9));
+    }
+
+    @Test
+    void neverSavesMoreThanMaxTokens() {
+        RetryBudget budget = new RetryBudget(0.5, 0, 2);
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.balance()).isEqualTo(2);
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void refillsOverTimeWithoutTraffic() {
+        RetryBudget budget = new RetryBudget(0.1, 20, 1);
+        assertThat(budget.tryWithdraw()).isTrue();
+
+        // 20 tokens por segundo: el siguiente llega en unos 50 ms sin ninguna llamada
+        await().atMost(Duration.ofSeconds(2)).until(budget::tryWithdraw);
+        assertThat(budget.balance()).isLessThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,133 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.adapter.out;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
+import pe.edu.vallegrande.vgmsdistribution.infrastructure.dto.external.msusers.MsUsersUserInfo;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserBatchLoaderTest {
+
+    private static final int CONCURRENCY = 8;
+    private static final long LOOKUP_TIMEOUT_MS = 1_000;
+
+    private final Map<String, AtomicInteger> requestsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    private DisposableServer server;
+    private UserBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        // Stub de MS-USERS: responde cada usuario tras una latencia fija; los "missing-" no existen
+        // y los "slow-" tardan mucho más que el tiempo límite de una consulta
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/internal/users/{userId}", (request, response) -> {
+                    String userId = request.param("userId");
+                    requestsByUser.computeIfAbsent(userId, key -> new AtomicInteger()).incrementAndGet();
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Mono<Void> reply = userId.startsWith("missing-")
+                            ? response.status(HttpStatus.NOT_FOUND.value())
+                                    .header(HttpHeaders.CONTENT_LENGTH, "0")
+                                    .send()
+                            : response.header(HttpHeaders.CONTENT_TYPE, "application/json")
+                                    .sendString(Mono.just("{\"success\":true,\"data\":{\"id\":\"" + userId
+                                            + "\",\"name\":\"User " + userId + "\"}}"))
+                                    .then();
+                    return Mono.delay(Duration.ofMillis(userId.startsWith("slow-") ? 5_000 : 20))
+                            .doOnNext(tick -> active.decrementAndGet())
+                            .then(reply);
+                }))
+                .bindNow();
+
+        MsUsersConfig config = new MsUsersConfig();
+        config.setBaseUrl("http://localhost:" + server.port());
+        config.getAuth().setToken("service-token");
+        config.getLoader().setConcurrency(CONCURRENCY);
+        config.getLoader().setLookupTimeoutMs(LOOKUP_TIMEOUT_MS);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserAuthClient userAuthClient = new UserAuthClient(
+                WebClient.builder().baseUrl(config.getBaseUrl()).build(),
+                config,
+                new MsUsersResilience(config, meterRegistry),
+                new RequestHedger(config, meterRegistry),
+                meterRegistry);
+        loader = new UserBatchLoader(userAuthClient, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void resolvesFiveHundredRowsWithBoundedConcurrencyAndOneRequestPerUser() {
+        int rows = 500;
+        int distinctUsers = 50;
+        List<String> userIds = IntStream.range(0, rows)
+                .mapToObj(row -> "user-" + (row % distinctUsers))
+                .toList();
+
+        StepVerifier.create(loader.loadAll(userIds))
+                .assertNext(users -> {
+                    assertThat(users).hasSize(distinctUsers);
+                    assertThat(users.get("user-0").getName()).isEqualTo("User user-0");
+                    assertThat(users.get("user-49").getName()).isEqualTo("User user-49");
+                })
+                .verifyComplete();
+
+        // La página deduplica sus IDs: una sola consulta por usuario
+        assertThat(requestsByUser).hasSize(distinctUsers);
+        assertThat(requestsByUser.values()).allMatch(count -> count.get() == 1);
+        // Las consultas corren en paralelo, pero nunca por encima del límite configurado
+        assertThat(maxActive.get()).isGreaterThan(1).isLessThanOrEqualTo(CONCURRENCY);
+    }
+
+    @Test
+    void resolvesUnknownUsersAsEmptyWithoutFailingThePage() {
+        StepVerifier.create(loader.loadAll(List.of("user-1", "missing-1", "user-2")))
+                .assertNext(users -> assertThat(users).containsOnlyKeys("user-1", "user-2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void givesUpOnASlowUserWithoutHoldingBackTheOthers() {
+        long started = System.nanoTime();
+
+        StepVerifier.create(loader.loadAll(List.of("slow-1", "user-1", "user-2")))
+                .assertNext(users -> assertThat(users).containsOnlyKeys("user-1", "user-2"))
+                .verifyComplete();
+
+        // La página termina al vencer el tiempo límite del usuario lento, no cuando él responde
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(4_000));
+    }
+
+    @Test
+    void ignoresBlankIds() {
+        StepVerifier.create(loader.load(" ")).verifyComplete();
+        StepVerifier.create(loader.loadAll(Arrays.asList(" ", null, "")))
+                .assertNext(users -> assertThat(users).isEmpty())
+                .verifyComplete();
+        assertThat(requestsByUser).isEmpty();
+    }
+}
@@ -0,0 +1,162 @@
+package pe.edu.vallegrande.vgmsdistribution.infrastructure.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.vgmsdistribution.application.config.MsUsersConfig;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class MsUsersLoadBalancerTest {
+
+    private static final String BASE_URL = "http://ms-users.invalid";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<StubInstance> stubs = new ArrayList<>();
+    private final List<Disposable> subscriptions = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+        stubs.forEach(stub -> stub.server.disposeNow());
+    }
+
+    @Test
+    void keepsCountingARequestUntilItsBodyCompletes() {
+        StubInstance first = stub(HttpStatus.OK);
+        StubInstance second = stub(HttpStatus.OK);
+        WebClient client = client(balancer(3));
+
+        // Una petición a cada instancia: con ambas en curso la segunda va a la que está libre
+        Mono<String> firstCall = get(client).cache();
+        Mono<String> secondCall = get(client).cache();
+        subscriptions.add(firstCall.subscribe());
+        subscriptions.add(secondCall.subscribe());
+        await().atMost(TIMEOUT).until(() -> first.requests.get() == 1 && second.requests.get() == 1);
+
+        // La primera termina; la segunda ya recibió los headers pero su cuerpo sigue abierto
+        first.releaseBodies();
+        assertThat(Mono.firstWithValue(firstCall, secondCall).block(TIMEOUT)).isEqualTo("ok");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(get(client).block(TIMEOUT)).isEqualTo("ok");
+        }
+        assertThat(first.requests.get()).isEqualTo(6);
+        assertThat(second.requests.get()).isEqualTo(1);
+
+        second.releaseBodies();
+        assertThat(secondCall.block(TIMEOUT)).isEqualTo("ok");
+    }
+
+    @Test
+    void ejectsAnInstanceAfterConsecutiveServerErrors() {
+        StubInstance failing = stub(HttpStatus.INTERNAL_SERVER_ERROR);
+        StubInstance healthy = stub(HttpStatus.OK);
+        failing.releaseBodies();
+        healthy.releaseBodies();
+        WebClient client = client(balancer(3));
+
+        List<Integer> statuses = Flux.range(0, 40)
+                .concatMap(i -> client.get().uri("/internal/users/1")
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value())))
+                .collectList()
+                .block(TIMEOUT);
+
+        assertThat(failing.requests.get()).isEqualTo(3);
+        assertThat(healthy.requests.get()).isEqualTo(37);
+        assertThat(statuses).filteredOn(status -> status == 500).hasSize(3);
+        assertThat(meterRegistry.get("ms-users.balancer.ejections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesRequestsOutsideTheBaseUrlAlone() {
+        StubInstance instance = stub(HttpStatus.OK);
+        StubInstance direct = stub(HttpStatus.OK);
+        instance.releaseBodies();
+        direct.releaseBodies();
+        MsUsersLoadBalancer balancer = new MsUsersLoadBalancer(config(3, List.of(instance.url())), meterRegistry);
+        balancer.init();
+        WebClient client = WebClient.builder().filter(balancer).build();
+
+        assertThat(client.get().uri(direct.url() + "/internal/users/1").retrieve().bodyToMono(String.class)
+                .block(TIMEOUT)).isEqualTo("ok");
+        assertThat(direct.requests.get()).isEqualTo(1);
+        assertThat(instance.requests.get()).isZero();
+    }
+
+    private Mono<String> get(WebClient client) {
+        return client.get().uri("/internal/users/1").retrieve().bodyToMono(String.class);
+    }
+
+    private MsUsersLoadBalancer balancer(int ejectAfterFailures) {
+        List<String> urls = stubs.stream().map(StubInstance::url).toList();
+        MsUsersLoadBalancer balancer = new MsUsersLoadBalancer(config(ejectAfterFailures, urls), meterRegistry);
+        balancer.init();
+        return balancer;
+    }
+
+    private static MsUsersConfig config(int ejectAfterFailures, List<String> urls) {
+        MsUsersConfig config = new MsUsersConfig();
+        config.setBaseUrl(BASE_URL);
+        config.getBalancer().setInstances(new ArrayList<>(urls));
+        config.getBalancer().setEjectAfterFailures(ejectAfterFailures);
+        config.getBalancer().setEjectionSeconds(60);
+        return config;
+    }
+
+    private static WebClient client(MsUsersLoadBalancer balancer) {
+        return WebClient.builder().baseUrl(BASE_URL).filter(balancer).build();
+    }
+
+    private StubInstance stub(HttpStatus status) {
+        StubInstance stub = new StubInstance(status);
+        stubs.add(stub);
+        return stub;
+    }
+
+    /**
+     * Instancia de MS-USERS simulada: envía los headers y el primer fragmento del
+     * cuerpo enseguida y lo cierra cuando se liberan los cuerpos
+     */
+    private static final class StubInstance {
+
+        private final AtomicInteger requests = new AtomicInteger();
+        private final Sinks.Empty<Void> bodies = Sinks.empty();
+        private final DisposableServer server;
+
+        private StubInstance(HttpStatus status) {
+            this.server = HttpServer.create()
+                    .port(0)
+                    .handle((request, response) -> {
+                        requests.incrementAndGet();
+                        return response.status(status.value())
+                                .sendString(Flux.concat(Mono.just("o"), bodies.asMono().then(Mono.just("k"))))
+                                .then();
+                    })
+                    .bindNow();
+        }
+
+        private String url() {
+            return "http://localhost:" + server.port();
+        }
+
+        private void releaseBodies() {
+            bodies.tryEmitEmpty();
+        }
+    }
+}